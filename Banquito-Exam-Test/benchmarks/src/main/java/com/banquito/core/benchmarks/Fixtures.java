@@ -0,0 +1,82 @@
+package com.banquito.core.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import com.banquito.core.branches.model.Branch;
+import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.model.ProductAccount;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Entities shaped like the ones the services return, and an
+ * {@link ObjectMapper} built with the defaults Spring MVC uses.
+ */
+final class Fixtures {
+
+    static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    private Fixtures() {
+    }
+
+    static Branch branch(int i) {
+        Branch branch = new Branch();
+        branch.setId(String.format("64%022x", i));
+        branch.setCode("BR" + i);
+        branch.setName("Sucursal " + i);
+        branch.setVersion((long) i % 7);
+        return branch;
+    }
+
+    static InterestRate interestRate(int i) {
+        InterestRate interestRate = new InterestRate();
+        interestRate.setId(i);
+        interestRate.setName("Tasa plazo fijo " + i);
+        interestRate.setInterestRate(BigDecimal.valueOf(100 + i % 900, 4));
+        interestRate.setState("ACT");
+        interestRate.setStart(new Date(1_672_531_200_000L + i * 86_400_000L));
+        interestRate.setChangeSeq((long) i);
+        return interestRate;
+    }
+
+    static ProductAccount productAccount(int i) {
+        ProductAccount productAccount = new ProductAccount();
+        productAccount.setId(String.format("PA%03d", i % 1000));
+        productAccount.setName("Cuenta de ahorros " + i);
+        productAccount.setDescription("Cuenta de ahorros con libreta y tarjeta de debito " + i);
+        productAccount.setMinimunBalance(BigDecimal.valueOf(2_500 + i, 2));
+        productAccount.setPayInterest("S");
+        productAccount.setAcceptsChecks("N");
+        productAccount.setState("ACT");
+        productAccount.setCreationDate(new Date(1_672_531_200_000L + i * 3_600_000L));
+        return productAccount;
+    }
+
+    static List<Branch> branches(int size) {
+        List<Branch> branches = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            branches.add(branch(i));
+        }
+        return branches;
+    }
+
+    static List<InterestRate> interestRates(int size) {
+        List<InterestRate> interestRates = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            interestRates.add(interestRate(i));
+        }
+        return interestRates;
+    }
+
+    static List<ProductAccount> productAccounts(int size) {
+        List<ProductAccount> productAccounts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            productAccounts.add(productAccount(i));
+        }
+        return productAccounts;
+    }
+}
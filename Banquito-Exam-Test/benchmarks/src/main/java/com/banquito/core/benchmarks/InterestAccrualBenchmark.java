@@ -0,0 +1,98 @@
+package com.banquito.core.benchmarks;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.banquito.core.productsaccounts.accrual.AccrualBatch;
+import com.banquito.core.productsaccounts.accrual.AccrualRateTable;
+import com.banquito.core.productsaccounts.accrual.AccrualResult;
+import com.banquito.core.productsaccounts.accrual.InterestAccrualEngine;
+import com.banquito.core.productsaccounts.model.InterestRate;
+
+/**
+ * Daily accrual of a batch of accounts by the fork/join fixed point engine,
+ * against a sequential loop doing the same arithmetic with {@link BigDecimal}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InterestAccrualBenchmark {
+
+    @Param({ "1000000" })
+    private int rows;
+
+    @Param({ "50" })
+    private int rateCount;
+
+    private List<InterestRate> interestRates;
+    private long[] balancesInCents;
+    private int[] rateIds;
+    private AccrualBatch batch;
+    private AccrualRateTable rates;
+    private InterestAccrualEngine engine;
+
+    @Setup
+    public void setUp() {
+        LocalDate accrualDate = LocalDate.now();
+        Random random = new Random(42);
+        this.interestRates = new ArrayList<>(this.rateCount);
+        for (int i = 1; i <= this.rateCount; i++) {
+            InterestRate interestRate = new InterestRate();
+            interestRate.setId(i);
+            interestRate.setName("rate" + i);
+            interestRate.setInterestRate(BigDecimal.valueOf(random.nextInt(9_900), 4));
+            interestRate.setState("ACT");
+            interestRate.setStart(Date.valueOf(accrualDate.minusYears(1)));
+            this.interestRates.add(interestRate);
+        }
+        this.balancesInCents = new long[this.rows];
+        this.rateIds = new int[this.rows];
+        this.batch = new AccrualBatch(this.rows);
+        for (int i = 0; i < this.rows; i++) {
+            this.balancesInCents[i] = random.nextLong(100_000_000_00L);
+            this.rateIds[i] = 1 + random.nextInt(this.rateCount);
+            this.batch.add("ACC-" + i, this.balancesInCents[i], this.rateIds[i]);
+        }
+        this.rates = new AccrualRateTable(this.interestRates, accrualDate);
+        this.engine = new InterestAccrualEngine(ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public AccrualResult forkJoinFixedPoint() {
+        return this.engine.accrue(this.batch, this.rates);
+    }
+
+    @Benchmark
+    public BigDecimal sequentialBigDecimal() {
+        BigDecimal days = BigDecimal.valueOf(InterestAccrualEngine.DAYS_IN_YEAR);
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int i = 0; i < this.rows; i++) {
+            InterestRate interestRate = this.interestRates.get(this.rateIds[i] - 1);
+            sum = sum.add(BigDecimal.valueOf(this.balancesInCents[i], 2).multiply(interestRate.getInterestRate())
+                    .divide(days, 6, RoundingMode.HALF_UP));
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,68 @@
+package com.banquito.core.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.banquito.core.branches.controller.dto.BranchRQRS;
+import com.banquito.core.branches.controller.mapper.BranchMapper;
+import com.banquito.core.branches.model.Branch;
+import com.banquito.core.productsaccounts.controller.dto.InterestRateRQRS;
+import com.banquito.core.productsaccounts.controller.dto.ProductAccountRQRS;
+import com.banquito.core.productsaccounts.controller.mapper.InterestRateMapper;
+import com.banquito.core.productsaccounts.controller.mapper.ProductAccountMapper;
+import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.model.ProductAccount;
+
+/**
+ * Entity to DTO mapping of a list, as done by the list and page endpoints,
+ * from a small page up to a full listing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListMapperBenchmark {
+
+    @Param({ "10", "100", "1000", "10000" })
+    private int size;
+
+    private List<Branch> branches;
+    private List<InterestRate> interestRates;
+    private List<ProductAccount> productAccounts;
+
+    @Setup
+    public void setUp() {
+        this.branches = Fixtures.branches(this.size);
+        this.interestRates = Fixtures.interestRates(this.size);
+        this.productAccounts = Fixtures.productAccounts(this.size);
+    }
+
+    @Benchmark
+    public List<BranchRQRS> branches() {
+        return BranchMapper.mapToList(this.branches);
+    }
+
+    @Benchmark
+    public List<InterestRateRQRS> interestRates() {
+        return InterestRateMapper.mapToList(this.interestRates);
+    }
+
+    @Benchmark
+    public List<ProductAccountRQRS> productAccounts() {
+        return ProductAccountMapper.mapToList(this.productAccounts);
+    }
+}
@@ -0,0 +1,102 @@
+package com.banquito.core.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+
+import com.banquito.core.productsaccounts.model.InterestRate;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+
+/**
+ * Latency of the logging done when an interest rate is created, as seen by
+ * the request threads: the entity logged at INFO, as it used to be, against
+ * the name at INFO and the entity at DEBUG. Each runs through a synchronous
+ * file appender and through the bounded asynchronous appender of
+ * logback-spring.xml. Sampled, so the percentiles of the calls are reported.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(16)
+@Fork(1)
+public class LoggingLatencyBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean async;
+
+    private File file;
+    private LoggerContext context;
+    private Logger log;
+    private InterestRate interestRate;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.file = File.createTempFile("logging-benchmark", ".log");
+        this.context = new LoggerContext();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(this.context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} %5p [%t] %logger{39} : %m%n");
+        encoder.start();
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(this.context);
+        fileAppender.setFile(this.file.getAbsolutePath());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+        Appender<ILoggingEvent> appender = fileAppender;
+        if (this.async) {
+            AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(this.context);
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setNeverBlock(true);
+            asyncAppender.addAppender(fileAppender);
+            asyncAppender.start();
+            appender = asyncAppender;
+        }
+        ch.qos.logback.classic.Logger root = this.context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+        this.log = this.context.getLogger("com.banquito.core.productsaccounts.service.InterestRateService");
+        this.interestRate = Fixtures.interestRate(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.context.stop();
+        this.file.delete();
+    }
+
+    @Benchmark
+    public void entityAtInfo() {
+        this.log.info("Creating interest rate with the following info: {}", this.interestRate);
+    }
+
+    @Benchmark
+    public void nameAtInfo() {
+        this.log.info("Creating interest rate with name: {}", this.interestRate.getName());
+        this.log.debug("Creating interest rate with the following info: {}", this.interestRate);
+    }
+}
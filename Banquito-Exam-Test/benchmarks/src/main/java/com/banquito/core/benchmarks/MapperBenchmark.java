@@ -0,0 +1,62 @@
+package com.banquito.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.banquito.core.branches.controller.dto.BranchRQRS;
+import com.banquito.core.branches.controller.mapper.BranchMapper;
+import com.banquito.core.branches.model.Branch;
+import com.banquito.core.productsaccounts.controller.dto.InterestRateRQRS;
+import com.banquito.core.productsaccounts.controller.dto.ProductAccountRQRS;
+import com.banquito.core.productsaccounts.controller.mapper.InterestRateMapper;
+import com.banquito.core.productsaccounts.controller.mapper.ProductAccountMapper;
+import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.model.ProductAccount;
+
+/**
+ * Entity to DTO mapping of a single record, as done by the lookup endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private Branch branch;
+    private InterestRate interestRate;
+    private ProductAccount productAccount;
+
+    @Setup
+    public void setUp() {
+        this.branch = Fixtures.branch(1);
+        this.interestRate = Fixtures.interestRate(1);
+        this.productAccount = Fixtures.productAccount(1);
+    }
+
+    @Benchmark
+    public BranchRQRS branch() {
+        return BranchMapper.mapToBranchRQRS(this.branch);
+    }
+
+    @Benchmark
+    public InterestRateRQRS interestRate() {
+        return InterestRateMapper.mapToInterestRateRQRS(this.interestRate);
+    }
+
+    @Benchmark
+    public ProductAccountRQRS productAccount() {
+        return ProductAccountMapper.mapToProductAccountRQRS(this.productAccount);
+    }
+}
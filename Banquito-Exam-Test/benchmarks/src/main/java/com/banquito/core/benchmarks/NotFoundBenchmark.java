@@ -0,0 +1,76 @@
+package com.banquito.core.benchmarks;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.banquito.core.productsaccounts.exception.CRUDException;
+
+/**
+ * Cost of the 404 path: a stackless {@link CRUDException} caught and mapped to
+ * its error code, against one that fills in its stack trace, and one whose
+ * stack trace is also printed, as the controllers used to log it. The
+ * exception is thrown below {@code depth} frames to resemble a request going
+ * through the servlet filters, the dispatcher and the service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotFoundBenchmark {
+
+    @Param({ "120" })
+    private int depth;
+
+    private int id;
+
+    @Benchmark
+    public int stackless() {
+        try {
+            return obtainById(this.id++, this.depth, false);
+        } catch (CRUDException e) {
+            return e.getErrorCode();
+        }
+    }
+
+    @Benchmark
+    public int stackTrace() {
+        try {
+            return obtainById(this.id++, this.depth, true);
+        } catch (CRUDException e) {
+            return e.getErrorCode();
+        }
+    }
+
+    @Benchmark
+    public int stackTraceLogged() {
+        try {
+            return obtainById(this.id++, this.depth, true);
+        } catch (CRUDException e) {
+            StringWriter log = new StringWriter();
+            e.printStackTrace(new PrintWriter(log));
+            return e.getErrorCode() + log.getBuffer().length();
+        }
+    }
+
+    private static int obtainById(int id, int depth, boolean withStack) {
+        if (depth > 0) {
+            return obtainById(id, depth - 1, withStack) + 1;
+        }
+        String message = "Interest Rate with id: {" + id + "} does not exist";
+        throw withStack ? new CRUDException(404, message, null) : new CRUDException(404, message);
+    }
+}
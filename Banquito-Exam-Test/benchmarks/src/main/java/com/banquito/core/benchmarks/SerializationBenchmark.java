@@ -0,0 +1,69 @@
+package com.banquito.core.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.banquito.core.branches.controller.mapper.BranchMapper;
+import com.banquito.core.branches.model.Branch;
+import com.banquito.core.productsaccounts.controller.mapper.InterestRateMapper;
+import com.banquito.core.productsaccounts.controller.mapper.ProductAccountMapper;
+import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.model.ProductAccount;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * The whole response path after the repository: entities mapped to DTOs and
+ * the DTOs serialized to JSON bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({ "1", "100", "1000" })
+    private int size;
+
+    private ObjectWriter writer;
+    private List<Branch> branches;
+    private List<InterestRate> interestRates;
+    private List<ProductAccount> productAccounts;
+
+    @Setup
+    public void setUp() {
+        this.writer = Fixtures.OBJECT_MAPPER.writer();
+        this.branches = Fixtures.branches(this.size);
+        this.interestRates = Fixtures.interestRates(this.size);
+        this.productAccounts = Fixtures.productAccounts(this.size);
+    }
+
+    @Benchmark
+    public byte[] branches() throws JsonProcessingException {
+        return this.writer.writeValueAsBytes(BranchMapper.mapToList(this.branches));
+    }
+
+    @Benchmark
+    public byte[] interestRates() throws JsonProcessingException {
+        return this.writer.writeValueAsBytes(InterestRateMapper.mapToList(this.interestRates));
+    }
+
+    @Benchmark
+    public byte[] productAccounts() throws JsonProcessingException {
+        return this.writer.writeValueAsBytes(ProductAccountMapper.mapToList(this.productAccounts));
+    }
+}
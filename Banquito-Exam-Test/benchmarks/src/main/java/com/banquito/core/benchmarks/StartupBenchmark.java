@@ -0,0 +1,162 @@
+package com.banquito.core.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Time from launching the JVM until a service answers HTTP, with today's
+ * {@code java -jar} and with the layout built by the {@code fast-startup}
+ * profile, with and without its AOT processing and CDS archive. The modes
+ * take turns on every round so that all of them see the same machine. The
+ * service is probed with a bare socket, which costs next to nothing, so the
+ * probing does not slow down the start it measures.
+ * Build the service with {@code mvn package -Pfast-startup}, start its
+ * databases and run, from this module,
+ * {@code java -cp target/benchmarks.jar com.banquito.core.benchmarks.StartupBenchmark ../branches [service args]}
+ * with the same JVM that built the archive. {@code -Dstartup.rounds} sets the
+ * number of rounds (5 by default).
+ */
+public class StartupBenchmark {
+
+    private static final String FAST_STARTUP_SUFFIX = "-fast-startup.jar";
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(2);
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    private static final String HEALTH_REQUEST = "GET /actuator/health HTTP/1.1\r\nHost: localhost\r\n"
+            + "Connection: close\r\n\r\n";
+
+    private final String java = ProcessHandle.current().info().command().orElse("java");
+    private final File directory;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Usage: StartupBenchmark <service directory> [service args]");
+        }
+        Path target = Path.of(args[0], "target");
+        Path fastStartup = target.resolve("fast-startup");
+        Path thinJar = find(fastStartup, FAST_STARTUP_SUFFIX);
+        Path archive = find(fastStartup, ".jsa");
+        String fatJarName = thinJar.getFileName().toString().replace(FAST_STARTUP_SUFFIX, ".jar");
+        String fatJar = target.resolve(fatJarName).toAbsolutePath().toString();
+        List<String> serviceArgs = Arrays.asList(args).subList(1, args.length);
+
+        // The archive only matches a class path given exactly as in the training run, which
+        // starts the thin jar by name from its own directory; -Xshare:on fails instead of
+        // silently measuring a start without the archive.
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("java -jar", List.of("-jar", fatJar));
+        modes.put("thin jar", List.of("-jar", thinJar.getFileName().toString()));
+        modes.put("thin jar + AOT", List.of("-Dspring.aot.enabled=true", "-jar",
+                thinJar.getFileName().toString()));
+        modes.put("thin jar + AOT + CDS", List.of("-XX:SharedArchiveFile=" + archive.getFileName(), "-Xshare:on",
+                "-Dspring.aot.enabled=true", "-jar", thinJar.getFileName().toString()));
+
+        new StartupBenchmark(fastStartup.toFile()).run(modes, serviceArgs, Integer.getInteger("startup.rounds", 5));
+    }
+
+    private StartupBenchmark(File directory) {
+        this.directory = directory;
+    }
+
+    private void run(Map<String, List<String>> modes, List<String> serviceArgs, int rounds)
+            throws IOException, InterruptedException {
+        Map<String, List<Long>> samples = new LinkedHashMap<>();
+        for (String mode : modes.keySet()) {
+            samples.put(mode, new ArrayList<>());
+        }
+        for (int round = 0; round < rounds; round++) {
+            for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+                long millis = this.timeToReady(mode.getValue(), serviceArgs);
+                samples.get(mode.getKey()).add(millis);
+                System.out.printf("round %d, %s: %d ms%n", round + 1, mode.getKey(), millis);
+            }
+        }
+        System.out.printf("%n%-22s %8s %8s %8s%n", "mode", "min ms", "p50 ms", "max ms");
+        for (Map.Entry<String, List<Long>> mode : samples.entrySet()) {
+            List<Long> millis = mode.getValue();
+            Collections.sort(millis);
+            System.out.printf("%-22s %8d %8d %8d%n", mode.getKey(), millis.get(0), millis.get(millis.size() / 2),
+                    millis.get(millis.size() - 1));
+        }
+    }
+
+    private long timeToReady(List<String> jvmArgs, List<String> serviceArgs) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(this.java);
+        command.addAll(jvmArgs);
+        command.addAll(serviceArgs);
+        command.add("--server.port=" + port);
+        File log = File.createTempFile("startup-", ".log");
+        log.deleteOnExit();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).directory(this.directory).redirectErrorStream(true)
+                .redirectOutput(log).start();
+        try {
+            while (System.nanoTime() - start < READY_TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Service exited with " + process.exitValue() + ", see " + log);
+                }
+                if (answers(port)) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+            throw new IllegalStateException("Service not ready after " + READY_TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * Whether the service returns an HTTP status line, whatever the status: a
+     * health check that reports a database as down still means the service is
+     * up and serving.
+     */
+    private static boolean answers(int port) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress("localhost", port), 1000);
+            socket.setSoTimeout((int) READY_TIMEOUT.toMillis());
+            socket.getOutputStream().write(HEALTH_REQUEST.getBytes(StandardCharsets.US_ASCII));
+            String statusLine = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                    StandardCharsets.US_ASCII)).readLine();
+            return statusLine != null && statusLine.startsWith("HTTP/");
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static Path find(Path directory, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(suffix)).findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No *" + suffix + " in " + directory
+                            + ", build the service with mvn package -Pfast-startup"));
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
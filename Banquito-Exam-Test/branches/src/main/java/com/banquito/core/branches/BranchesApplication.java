@@ -2,12 +2,23 @@ package com.banquito.core.branches;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class BranchesApplication {
 
+	/**
+	 * With {@code banquito.startup.training-run=true} the service stops as soon
+	 * as it has started; the fast-startup profile runs it this way to record the
+	 * classes loaded during startup in a CDS archive.
+	 */
 	public static void main(String[] args) {
-		SpringApplication.run(BranchesApplication.class, args);
+		ConfigurableApplicationContext context = SpringApplication.run(BranchesApplication.class, args);
+		if (context.getEnvironment().getProperty("banquito.startup.training-run", Boolean.class, false)) {
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 
 }
@@ -0,0 +1,184 @@
+package com.banquito.core.branches.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.banquito.core.branches.config.ApplicationValues;
+import com.banquito.core.branches.model.Branch;
+
+/**
+ * In-process cache of branches, addressable by code and by id.
+ *
+ * Entries expire after a fixed TTL and the least recently used entry is
+ * evicted once the cache reaches its maximum size. Coherence between replicas
+ * is kept by {@link BranchChangeStreamListener}, which evicts entries touched
+ * by writes done anywhere in the cluster.
+ *
+ * An eviction can arrive while a branch is being read from the database, and
+ * putting the read branch afterwards would bring back the evicted state. To
+ * avoid it a reader takes a {@link #stamp()} before reading and puts with
+ * {@link #put(Branch, long)}, which drops the branch if its id, or another id
+ * of the same stripe, was evicted since.
+ */
+@Component
+public class BranchCache {
+
+    private static final int EVICTION_STRIPES = 1024;
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final Map<String, Entry> byCode;
+    private final Map<String, String> codeById = new LinkedHashMap<>();
+    private final long[] evictedAt = new long[EVICTION_STRIPES];
+    private long evictions;
+    private long clearedAt;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public BranchCache(ApplicationValues appValues) {
+        this(appValues.getBranchCacheMaxSize(), Duration.ofSeconds(appValues.getBranchCacheTtlSeconds()),
+                System::nanoTime);
+    }
+
+    public BranchCache(int maxSize, Duration ttl, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+        this.byCode = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > BranchCache.this.maxSize) {
+                    codeById.remove(eldest.getValue().branch.getId());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized Branch getByCode(String code) {
+        return this.hitOrMiss(code == null ? null : this.byCode.get(code));
+    }
+
+    public synchronized Branch getById(String id) {
+        String code = id == null ? null : this.codeById.get(id);
+        return this.hitOrMiss(code == null ? null : this.byCode.get(code));
+    }
+
+    /**
+     * Puts a branch just written, which is newer than any eviction seen so far.
+     */
+    public synchronized void put(Branch branch) {
+        if (branch == null || branch.getCode() == null || this.maxSize <= 0) {
+            return;
+        }
+        this.removeByCode(branch.getCode());
+        if (branch.getId() != null) {
+            this.removeById(branch.getId());
+            this.codeById.put(branch.getId(), branch.getCode());
+        }
+        this.byCode.put(branch.getCode(), new Entry(branch, this.clock.getAsLong() + this.ttlNanos));
+    }
+
+    /**
+     * Puts a branch read from the database after the given {@link #stamp()},
+     * unless it was evicted after the stamp was taken.
+     */
+    public synchronized void put(Branch branch, long stamp) {
+        if (branch == null || this.clearedAt > stamp
+                || (branch.getId() != null && this.evictedAt[stripe(branch.getId())] > stamp)) {
+            return;
+        }
+        this.put(branch);
+    }
+
+    /**
+     * Marks the start of a database read whose result is to be put with
+     * {@link #put(Branch, long)}.
+     */
+    public synchronized long stamp() {
+        return this.evictions;
+    }
+
+    public synchronized void evictByCode(String code) {
+        Entry entry = this.byCode.get(code);
+        if (entry != null && entry.branch.getId() != null) {
+            this.evictById(entry.branch.getId());
+        } else {
+            this.removeByCode(code);
+        }
+    }
+
+    public synchronized void evictById(String id) {
+        this.evictedAt[stripe(id)] = ++this.evictions;
+        this.removeById(id);
+    }
+
+    public synchronized void clear() {
+        this.clearedAt = ++this.evictions;
+        this.byCode.clear();
+        this.codeById.clear();
+    }
+
+    public synchronized int size() {
+        return this.byCode.size();
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    private Branch hitOrMiss(Entry entry) {
+        if (entry == null) {
+            this.misses.increment();
+            return null;
+        }
+        if (this.clock.getAsLong() - entry.expiresAt >= 0) {
+            this.removeByCode(entry.branch.getCode());
+            this.misses.increment();
+            return null;
+        }
+        this.hits.increment();
+        return entry.branch;
+    }
+
+    private void removeByCode(String code) {
+        Entry entry = this.byCode.remove(code);
+        if (entry != null && entry.branch.getId() != null) {
+            this.codeById.remove(entry.branch.getId());
+        }
+    }
+
+    private void removeById(String id) {
+        String code = this.codeById.remove(id);
+        if (code != null) {
+            this.byCode.remove(code);
+        }
+    }
+
+    private static int stripe(String id) {
+        return Math.floorMod(id.hashCode(), EVICTION_STRIPES);
+    }
+
+    private static final class Entry {
+        private final Branch branch;
+        private final long expiresAt;
+
+        private Entry(Branch branch, long expiresAt) {
+            this.branch = branch;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
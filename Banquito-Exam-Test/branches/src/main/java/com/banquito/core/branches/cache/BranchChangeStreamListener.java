@@ -0,0 +1,111 @@
+package com.banquito.core.branches.cache;
+
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListener;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import com.banquito.core.branches.model.Branch;
+import com.banquito.core.branches.stream.BranchEventStream;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tails the change stream of the branches collection, evicts the affected
+ * entries from the {@link BranchCache} and forwards the changes to the
+ * {@link BranchEventStream}. If the stream cannot be opened (for example on a
+ * standalone mongod) the cache is cleared and entries fall back to TTL
+ * expiration.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "banquito.cache.branches.change-stream", havingValue = "true", matchIfMissing = true)
+public class BranchChangeStreamListener implements MessageListener<ChangeStreamDocument<Document>, Document> {
+
+    private static final String COLLECTION = "branches";
+
+    private final BranchCache branchCache;
+    private final BranchEventStream branchEventStream;
+    private final MongoConverter converter;
+    private final MessageListenerContainer container;
+
+    public BranchChangeStreamListener(MongoTemplate mongoTemplate, BranchCache branchCache,
+            BranchEventStream branchEventStream) {
+        this.branchCache = branchCache;
+        this.branchEventStream = branchEventStream;
+        this.converter = mongoTemplate.getConverter();
+        this.container = new DefaultMessageListenerContainer(mongoTemplate,
+                new SimpleAsyncTaskExecutor("branches-change-stream-"), e -> {
+                    log.warn("Branches change stream failed, clearing branch cache: {}", e.getMessage());
+                    branchCache.clear();
+                });
+    }
+
+    @PostConstruct
+    public void start() {
+        log.info("Subscribing to change stream of collection {}", COLLECTION);
+        this.container.register(ChangeStreamRequest.builder(this).collection(COLLECTION)
+                .fullDocumentLookup(FullDocument.UPDATE_LOOKUP).build(), Document.class);
+        this.container.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        this.container.stop();
+    }
+
+    @Override
+    public void onMessage(Message<ChangeStreamDocument<Document>, Document> message) {
+        ChangeStreamDocument<Document> event = message.getRaw();
+        if (event == null) {
+            return;
+        }
+        OperationType operation = event.getOperationType();
+        if (operation == OperationType.DROP || operation == OperationType.RENAME
+                || operation == OperationType.DROP_DATABASE || operation == OperationType.INVALIDATE) {
+            log.info("Branches collection invalidated by {}, clearing branch cache", operation);
+            this.branchCache.clear();
+            return;
+        }
+        String id = documentId(event.getDocumentKey());
+        if (id != null) {
+            log.debug("Evicting branch with id: {} after {} event", id, operation);
+            this.branchCache.evictById(id);
+            BsonTimestamp clusterTime = event.getClusterTime();
+            if (clusterTime != null) {
+                Document body = message.getBody();
+                this.branchEventStream.onChange(clusterTime.getValue(), operation.getValue(), id,
+                        body == null ? null : this.converter.read(Branch.class, body));
+            }
+        }
+    }
+
+    private static String documentId(BsonDocument documentKey) {
+        if (documentKey == null) {
+            return null;
+        }
+        BsonValue id = documentKey.get("_id");
+        if (id == null) {
+            return null;
+        }
+        if (id.isObjectId()) {
+            return id.asObjectId().getValue().toHexString();
+        }
+        return id.isString() ? id.asString().getValue() : id.toString();
+    }
+}
@@ -15,17 +15,29 @@ public class ApplicationValues {
     private final String mongoUsr;
     private final String mongoPwd;
     private final String mongoAut;
+    private final Integer branchCacheMaxSize;
+    private final Long branchCacheTtlSeconds;
+    private final Integer mongoMaxPoolSize;
+    private final Long mongoWaitQueueTimeoutMs;
 
     @Autowired
     public ApplicationValues(@Value("${banquito.mongo.host}") String mongoHost,
             @Value("${banquito.mongo.db}") String mongoDB,
             @Value("${banquito.mongo.usr}") String mongoUsr,
             @Value("${banquito.mongo.pwd}") String mongoPwd,
-            @Value("${banquito.mongo.aut}") String mongoAut) {
+            @Value("${banquito.mongo.aut}") String mongoAut,
+            @Value("${banquito.cache.branches.max-size:1000}") Integer branchCacheMaxSize,
+            @Value("${banquito.cache.branches.ttl-seconds:300}") Long branchCacheTtlSeconds,
+            @Value("${banquito.mongo.max-pool-size:100}") Integer mongoMaxPoolSize,
+            @Value("${banquito.mongo.wait-queue-timeout-ms:120000}") Long mongoWaitQueueTimeoutMs) {
         this.mongoHost = mongoHost;
         this.mongoDB = mongoDB;
         this.mongoUsr = mongoUsr;
         this.mongoPwd = mongoPwd;
         this.mongoAut = mongoAut;
+        this.branchCacheMaxSize = branchCacheMaxSize;
+        this.branchCacheTtlSeconds = branchCacheTtlSeconds;
+        this.mongoMaxPoolSize = mongoMaxPoolSize;
+        this.mongoWaitQueueTimeoutMs = mongoWaitQueueTimeoutMs;
     }
 }
@@ -0,0 +1,53 @@
+package com.banquito.core.branches.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+import com.banquito.core.branches.cache.BranchCache;
+import com.banquito.core.branches.service.BranchService;
+import com.banquito.core.common.cache.SingleFlightMetrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Metrics exposed in Prometheus format at /actuator/prometheus. Endpoint,
+ * repository method and MongoDB command timers are registered by Spring Boot;
+ * their percentiles and histogram buckets default to metrics.properties. The
+ * branch cache is reported with the names Micrometer uses for other caches,
+ * so its hit ratio is {@code cache_gets_total{result="hit"}} over all gets.
+ * Lookups by code that miss the cache are coalesced; their coalescing ratio
+ * is {@code coalescing_calls_total{result="shared"}} over all calls.
+ */
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+
+    public static final String BRANCH_CACHE = "branches";
+    public static final String BRANCH_BY_CODE = "branch.code";
+
+    @Bean
+    public MeterBinder branchCacheMetrics(BranchCache branchCache) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", branchCache, BranchCache::getHits)
+                    .tags("cache", BRANCH_CACHE, "result", "hit")
+                    .description("The number of times cache lookup methods have returned a cached value.")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", branchCache, BranchCache::getMisses)
+                    .tags("cache", BRANCH_CACHE, "result", "miss")
+                    .description("The number of times cache lookup methods have not returned a value.")
+                    .register(registry);
+            Gauge.builder("cache.size", branchCache, BranchCache::size)
+                    .tags("cache", BRANCH_CACHE)
+                    .description("The number of entries in this cache.")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder branchLookupCoalescingMetrics(BranchService branchService) {
+        return new SingleFlightMetrics(BRANCH_BY_CODE, branchService.getCodeLookups());
+    }
+}
@@ -4,7 +4,9 @@ import java.math.BigDecimal;
 import java.util.Arrays;
 
 import org.bson.types.Decimal128;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
@@ -15,6 +17,8 @@ import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
 import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
 import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 
@@ -24,19 +28,42 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
     @Autowired
     private ApplicationValues appValues;
 
+    @Autowired
+    private ObjectProvider<MongoClientSettingsBuilderCustomizer> settingsCustomizers;
+
     @Override
     protected String getDatabaseName() {
         return appValues.getMongoDB();
     }
 
+    /**
+     * The customizers registered by Spring Boot add the command and connection
+     * pool listeners that time every MongoDB command and report the pool.
+     */
     @Override
     public MongoClient mongoClient() {
+        String connectionString;
         if ("1".equals(appValues.getMongoAut())) {
-            return MongoClients.create("mongodb://" + appValues.getMongoUsr() + ":" + appValues.getMongoPwd() + "@"
-                    + appValues.getMongoHost() + ":27017/" + appValues.getMongoDB() + "?authSource=admin");
+            connectionString = "mongodb://" + appValues.getMongoUsr() + ":" + appValues.getMongoPwd() + "@"
+                    + appValues.getMongoHost() + ":27017/" + appValues.getMongoDB() + "?authSource=admin&"
+                    + poolOptions();
         } else {
-            return MongoClients.create("mongodb://" + appValues.getMongoHost() + ":49156/" + appValues.getMongoDB());
+            connectionString = "mongodb://" + appValues.getMongoHost() + ":49156/" + appValues.getMongoDB()
+                    + "?" + poolOptions();
         }
+        MongoClientSettings.Builder settings = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(connectionString));
+        this.settingsCustomizers.orderedStream().forEach(customizer -> customizer.customize(settings));
+        return MongoClients.create(settings.build());
+    }
+
+    /**
+     * The connection pool bounds how many requests can talk to MongoDB at once;
+     * with virtual threads it is the only such bound, so it is configurable.
+     */
+    private String poolOptions() {
+        return "maxPoolSize=" + appValues.getMongoMaxPoolSize() + "&waitQueueTimeoutMS="
+                + appValues.getMongoWaitQueueTimeoutMs();
     }
 
     @Override
@@ -1,21 +1,42 @@
 package com.banquito.core.branches.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.banquito.core.branches.controller.dto.BranchImportRS;
+import com.banquito.core.branches.controller.dto.BranchPageRS;
 import com.banquito.core.branches.controller.dto.BranchRQRS;
 import com.banquito.core.branches.controller.mapper.BranchMapper;
 import com.banquito.core.branches.exception.CRUDException;
 import com.banquito.core.branches.model.Branch;
+import com.banquito.core.branches.service.BranchPage;
 import com.banquito.core.branches.service.BranchService;
+import com.banquito.core.branches.stream.BranchEventStream;
+import com.banquito.core.common.web.FieldSelection;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -23,11 +44,20 @@ import lombok.extern.slf4j.Slf4j;
 @RestController
 @RequestMapping("/api/v1/branches")
 public class BranchController {
-    
+
     private final BranchService branchService;
+    private final BranchEventStream branchEventStream;
+    private final ObjectWriter branchWriter;
+    private final ObjectReader branchReader;
 
-    public BranchController(BranchService branchService) {
+    public BranchController(BranchService branchService, BranchEventStream branchEventStream,
+            ObjectMapper objectMapper) {
         this.branchService = branchService;
+        this.branchEventStream = branchEventStream;
+        this.branchWriter = objectMapper.writerFor(BranchRQRS.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");
+        this.branchReader = objectMapper.readerFor(BranchRQRS.class);
     }
 
     @GetMapping
@@ -38,6 +68,65 @@ public class BranchController {
         return ResponseEntity.ok(BranchMapper.mapToList(branches)); 
     }
 
+    @GetMapping(params = { "fields", "!limit", "!format" })
+    public ResponseEntity<List<Map<String, Object>>> obtainAllFields(@RequestParam(name = "fields") String fields)
+            throws CRUDException {
+        log.info("Going to return fields: {} of all branches", fields);
+        List<Map<String, Object>> branches = this.branchService.getAllFields(
+                FieldSelection.parse(fields, BranchMapper.FIELDS, CRUDException::new));
+        log.info("Returning {} branches", branches.size());
+        return ResponseEntity.ok(branches);
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<BranchPageRS> obtainPage(@RequestParam(name = "limit") int limit,
+            @RequestParam(name = "after", required = false) String after) throws CRUDException {
+        log.info("Going to return a page of {} branches", limit);
+        BranchPage page = this.branchService.getPage(after, limit);
+        return ResponseEntity.ok(BranchPageRS.builder()
+                .branches(BranchMapper.mapToList(page.getBranches()))
+                .next(page.getNext()).build());
+    }
+
+    /**
+     * Pages carry full rows; a field selection would otherwise be ignored.
+     */
+    @GetMapping(params = { "fields", "limit" })
+    public ResponseEntity<BranchPageRS> obtainPageFields() throws CRUDException {
+        throw new CRUDException(400, "The fields parameter cannot be combined with limit");
+    }
+
+    @GetMapping(params = { "format=ndjson", "!fields" })
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        log.info("Going to stream all branches as NDJSON");
+        StreamingResponseBody body = out -> {
+            JsonGenerator generator = this.branchWriter.createGenerator(out);
+            try (Stream<Branch> branches = this.branchService.streamAll()) {
+                Iterator<Branch> iterator = branches.iterator();
+                while (iterator.hasNext()) {
+                    this.branchWriter.writeValue(generator, BranchMapper.mapToBranchRQRS(iterator.next()));
+                    generator.writeRaw('\n');
+                }
+            }
+            generator.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * The stream carries full rows; a field selection would otherwise be ignored.
+     */
+    @GetMapping(params = { "fields", "format=ndjson", "!limit" })
+    public ResponseEntity<StreamingResponseBody> streamAllFields() throws CRUDException {
+        throw new CRUDException(400, "The fields parameter cannot be combined with format=ndjson");
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        log.info("Going to stream branch changes after event: {}", lastEventId);
+        return this.branchEventStream.subscribe(lastEventId);
+    }
+
     @GetMapping("/{code}")
     public ResponseEntity<BranchRQRS> obtainByCode(@PathVariable(name = "code") String code) {
         log.info("Going to find branch by code: {}", code);
@@ -50,26 +139,36 @@ public class BranchController {
     }
 
     @PostMapping
-    public ResponseEntity create(@RequestBody BranchRQRS branch) {
-        try {
-            log.info("Going to create a branch with info: {}", branch);
-            this.branchService.create(BranchMapper.mapToBranch(branch));
-            return ResponseEntity.ok().build();
-        } catch (CRUDException e) {
-            log.error("Error at create branch: {}", e.getMessage(), e);
+    public ResponseEntity create(@RequestBody BranchRQRS branch) throws CRUDException {
+        log.info("Going to create a branch with code: {}", branch.getCode());
+        this.branchService.create(BranchMapper.mapToBranch(branch));
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BranchImportRS>> createBulk(@RequestBody List<BranchRQRS> branches) {
+        log.info("Going to import {} branches", branches.size());
+        return ResponseEntity.ok(BranchMapper.mapToImportList(
+                this.branchService.createAll(BranchMapper.mapToBranchList(branches))));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<BranchImportRS>> createBulkNdjson(InputStream body) {
+        List<BranchRQRS> branches;
+        try (MappingIterator<BranchRQRS> iterator = this.branchReader.readValues(body)) {
+            branches = iterator.readAll();
+        } catch (IOException e) {
+            log.error("Error at read branches to import: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
         }
+        return this.createBulk(branches);
     }
 
     @PutMapping("/{code}")
-    public  ResponseEntity<BranchRQRS> update(@PathVariable(name="code") String code, @RequestBody BranchRQRS branch) {
-        try {
-            this.branchService.update(code, BranchMapper.mapToBranch(branch));
-            return ResponseEntity.ok(BranchMapper.mapToBranchRQRS(this.branchService.lookByCode(code)));
-        } catch (CRUDException e){
-            log.error("Error at update branch: {}", e.getMessage(), e);
-            return ResponseEntity.status(e.getErrorCode()).build();
-        }
+    public  ResponseEntity<BranchRQRS> update(@PathVariable(name="code") String code, @RequestBody BranchRQRS branch)
+            throws CRUDException {
+        Branch updated = this.branchService.update(code, BranchMapper.mapToBranch(branch));
+        return ResponseEntity.ok(BranchMapper.mapToBranchRQRS(updated));
     }
     
 }
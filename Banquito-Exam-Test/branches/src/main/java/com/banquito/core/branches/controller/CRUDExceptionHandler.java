@@ -0,0 +1,22 @@
+package com.banquito.core.branches.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.banquito.core.common.web.ErrorCodeResponse;
+import com.banquito.core.branches.exception.CRUDException;
+
+/**
+ * Maps a {@link CRUDException} thrown by any controller to an empty response
+ * with the status its error code maps to, logged as described in
+ * {@link ErrorCodeResponse}.
+ */
+@RestControllerAdvice
+public class CRUDExceptionHandler {
+
+    @ExceptionHandler(CRUDException.class)
+    public ResponseEntity<Void> handle(CRUDException e) {
+        return ErrorCodeResponse.of(e.getErrorCode(), e);
+    }
+}
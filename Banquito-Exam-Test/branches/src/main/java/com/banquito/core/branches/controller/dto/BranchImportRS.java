@@ -0,0 +1,19 @@
+package com.banquito.core.branches.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BranchImportRS {
+
+    private Integer index;
+    private String code;
+    private String status;
+    private String message;
+
+}
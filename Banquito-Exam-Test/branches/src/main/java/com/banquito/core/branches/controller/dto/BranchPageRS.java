@@ -0,0 +1,19 @@
+package com.banquito.core.branches.controller.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BranchPageRS {
+
+    private List<BranchRQRS> branches;
+    private String next;
+
+}
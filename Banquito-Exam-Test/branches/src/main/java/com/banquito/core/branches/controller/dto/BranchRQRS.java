@@ -14,5 +14,6 @@ public class BranchRQRS {
     private String id;
     private String code;
     private String name;
+    private Long version;
 
 }
@@ -3,16 +3,21 @@ package com.banquito.core.branches.controller.mapper;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.banquito.core.branches.controller.dto.BranchImportRS;
 import com.banquito.core.branches.controller.dto.BranchRQRS;
 import com.banquito.core.branches.model.Branch;
+import com.banquito.core.branches.service.BranchImportResult;
 
 public class BranchMapper {
+
+    public static final List<String> FIELDS = List.of("id", "code", "name", "version");
     
     public static BranchRQRS mapToBranchRQRS(Branch branch) {
         return BranchRQRS.builder()
             .id(branch.getId())
             .code(branch.getCode())
-            .name(branch.getName()).build();
+            .name(branch.getName())
+            .version(branch.getVersion()).build();
     }
 
     public static List<BranchRQRS> mapToList(List<Branch> branches) {
@@ -30,6 +35,27 @@ public class BranchMapper {
         branch.setId(branchRQRS.getId());
         branch.setCode(branchRQRS.getCode());
         branch.setName(branchRQRS.getName());
+        branch.setVersion(branchRQRS.getVersion());
         return branch;
     }
+
+    public static List<Branch> mapToBranchList(List<BranchRQRS> branchesRQRS) {
+        List<Branch> branches = new ArrayList<>(branchesRQRS.size());
+        for (BranchRQRS branchRQRS : branchesRQRS) {
+            branches.add(mapToBranch(branchRQRS));
+        }
+        return branches;
+    }
+
+    public static List<BranchImportRS> mapToImportList(List<BranchImportResult> results) {
+        List<BranchImportRS> importsRS = new ArrayList<>(results.size());
+        for (BranchImportResult result : results) {
+            importsRS.add(BranchImportRS.builder()
+                .index(result.getIndex())
+                .code(result.getCode())
+                .status(result.getStatus())
+                .message(result.getMessage()).build());
+        }
+        return importsRS;
+    }
 }
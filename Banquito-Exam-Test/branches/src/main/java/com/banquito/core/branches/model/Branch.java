@@ -1,6 +1,7 @@
 package com.banquito.core.branches.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -17,5 +18,7 @@ public class Branch {
     @Indexed(name = "idxu_branches_code", unique = true)
     private String code;
     private String name;
+    @Version
+    private Long version;
 }
 
@@ -1,11 +1,22 @@
 package com.banquito.core.branches.repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import com.banquito.core.branches.model.Branch;
 
-public interface BranchRepository extends MongoRepository<Branch, String>{
+public interface BranchRepository extends MongoRepository<Branch, String>, BranchRepositoryCustom {
     
     Branch findByCode(String code);
-}
 
+    boolean existsByCode(String code);
+
+    List<Branch> findAllByOrderByCodeAsc(Pageable pageable);
+
+    List<Branch> findByCodeGreaterThanOrderByCodeAsc(String code, Pageable pageable);
+
+    Stream<Branch> streamAllByOrderByCodeAsc();
+}
@@ -0,0 +1,36 @@
+package com.banquito.core.branches.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import com.banquito.core.branches.model.Branch;
+
+public interface BranchRepositoryCustom {
+
+    /**
+     * Inserts the branches with a single unordered bulk write.
+     *
+     * @return the write error of every branch that could not be inserted,
+     *         keyed by its position in the given list
+     */
+    Map<Integer, BranchWriteError> insertUnordered(List<Branch> branches);
+
+    /**
+     * Applies the non null fields of the given branch to the branch with the
+     * given code in a single findAndModify and increments its version. When
+     * the given branch carries a version, the update only matches if the stored
+     * version is still the same.
+     *
+     * @return the updated branch, or null if no branch matched
+     */
+    Branch updateByCode(String code, Branch branch);
+
+    /**
+     * Finds every branch returning only the given fields, which must have been
+     * validated by the caller. The projection is applied by Mongo, so the
+     * other fields are never read nor sent.
+     *
+     * @return one map per branch, keyed by field name in the given order
+     */
+    List<Map<String, Object>> findAllFields(List<String> fields);
+}
@@ -0,0 +1,85 @@
+package com.banquito.core.branches.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.banquito.core.branches.model.Branch;
+import com.mongodb.bulk.BulkWriteError;
+
+public class BranchRepositoryCustomImpl implements BranchRepositoryCustom {
+
+    private static final String ID = "id";
+    private static final String MONGO_ID = "_id";
+
+    private final MongoTemplate mongoTemplate;
+
+    public BranchRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Map<Integer, BranchWriteError> insertUnordered(List<Branch> branches) {
+        Map<Integer, BranchWriteError> errors = new HashMap<>();
+        if (branches.isEmpty()) {
+            return errors;
+        }
+        try {
+            this.mongoTemplate.bulkOps(BulkMode.UNORDERED, Branch.class).insert(branches).execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                errors.put(error.getIndex(), new BranchWriteError(error.getCode(), error.getMessage()));
+            }
+        }
+        return errors;
+    }
+
+    @Override
+    public Branch updateByCode(String code, Branch branch) {
+        Query query = Query.query(Criteria.where("code").is(code));
+        if (branch.getVersion() != null) {
+            query.addCriteria(Criteria.where("version").is(branch.getVersion()));
+        }
+        Update update = new Update().inc("version", 1);
+        if (branch.getName() != null) {
+            update.set("name", branch.getName());
+        }
+        return this.mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true),
+                Branch.class);
+    }
+
+    @Override
+    public List<Map<String, Object>> findAllFields(List<String> fields) {
+        Query query = new Query();
+        for (String field : fields) {
+            query.fields().include(ID.equals(field) ? MONGO_ID : field);
+        }
+        if (!fields.contains(ID)) {
+            query.fields().exclude(MONGO_ID);
+        }
+        List<Document> documents = this.mongoTemplate.find(query, Document.class,
+                this.mongoTemplate.getCollectionName(Branch.class));
+        List<Map<String, Object>> rows = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                Object value = document.get(ID.equals(field) ? MONGO_ID : field);
+                row.put(field, value instanceof ObjectId ? ((ObjectId) value).toHexString() : value);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,18 @@
+package com.banquito.core.branches.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BranchWriteError {
+
+    public static final int DUPLICATE_KEY = 11000;
+
+    private final int code;
+    private final String message;
+
+    public boolean isDuplicateKey() {
+        return this.code == DUPLICATE_KEY;
+    }
+}
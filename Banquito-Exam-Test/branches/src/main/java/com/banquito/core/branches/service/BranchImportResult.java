@@ -0,0 +1,18 @@
+package com.banquito.core.branches.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BranchImportResult {
+
+    public static final String CREATED = "CREATED";
+    public static final String DUPLICATED = "DUPLICATED";
+    public static final String FAILED = "FAILED";
+
+    private final int index;
+    private final String code;
+    private final String status;
+    private final String message;
+}
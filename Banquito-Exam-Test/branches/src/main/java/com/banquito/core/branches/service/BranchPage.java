@@ -0,0 +1,16 @@
+package com.banquito.core.branches.service;
+
+import java.util.List;
+
+import com.banquito.core.branches.model.Branch;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BranchPage {
+
+    private final List<Branch> branches;
+    private final String next;
+}
@@ -1,13 +1,22 @@
 package com.banquito.core.branches.service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.banquito.core.common.cache.SingleFlight;
+import com.banquito.core.branches.cache.BranchCache;
 import com.banquito.core.branches.exception.CRUDException;
 import com.banquito.core.branches.model.Branch;
 import com.banquito.core.branches.repository.BranchRepository;
+import com.banquito.core.branches.repository.BranchWriteError;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -15,24 +24,51 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class BranchService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int BULK_BATCH_SIZE = 500;
+
     private final BranchRepository branchRepository;
+    private final BranchCache branchCache;
+    // Branches found by code are shared read-only, as the branch cache already
+    // hands the same instance to every caller, so lookups are not copied.
+    private final SingleFlight<String, Branch> codeLookups = new SingleFlight<>();
 
-    public BranchService(BranchRepository branchRepository) {
+    public BranchService(BranchRepository branchRepository, BranchCache branchCache) {
         this.branchRepository = branchRepository;
+        this.branchCache = branchCache;
     }
 
     public Branch lookById(String id) throws CRUDException {
         log.info("Looking branch with id: {}", id);
+        Branch branch = this.branchCache.getById(id);
+        if (branch != null) {
+            return branch;
+        }
+        long stamp = this.branchCache.stamp();
         Optional<Branch> branchOpt = this.branchRepository.findById(id);
         if (!branchOpt.isPresent()) {
             throw new CRUDException(404, "Branch with id: {"+id+"} does not exist");
         }
+        this.branchCache.put(branchOpt.get(), stamp);
         return branchOpt.get();
     }
 
+    /**
+     * Looks a branch up by code, first in the cache. Concurrent misses for the
+     * same code share one query, which also fills the cache unless the branch
+     * was evicted while it was being read.
+     */
     public Branch lookByCode(String code) {
         log.info("looking branch with code {}", code);
-        Branch branch = this.branchRepository.findByCode(code);
+        Branch branch = this.branchCache.getByCode(code);
+        if (branch == null) {
+            branch = this.codeLookups.execute(code, () -> {
+                long stamp = this.branchCache.stamp();
+                Branch found = this.branchRepository.findByCode(code);
+                this.branchCache.put(found, stamp);
+                return found;
+            });
+        }
         log.debug("Branch info for code {} -> {}", code, branch);
         return branch;
     }
@@ -42,6 +78,36 @@ public class BranchService {
         return this.branchRepository.findAll();
     }
 
+    public List<Map<String, Object>> getAllFields(List<String> fields) {
+        log.info("Going to return fields: {} of all braches", fields);
+        return this.branchRepository.findAllFields(fields);
+    }
+
+    public BranchPage getPage(String after, int limit) throws CRUDException {
+        log.info("Going to return a page of {} branches after token: {}", limit, after);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new CRUDException(400, "Page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+        List<Branch> branches = after == null || after.isEmpty()
+                ? this.branchRepository.findAllByOrderByCodeAsc(pageRequest)
+                : this.branchRepository.findByCodeGreaterThanOrderByCodeAsc(decodeToken(after), pageRequest);
+        if (branches.size() <= limit) {
+            return new BranchPage(branches, null);
+        }
+        List<Branch> page = branches.subList(0, limit);
+        return new BranchPage(page, encodeToken(page.get(limit - 1).getCode()));
+    }
+
+    /**
+     * Streams every branch ordered by code straight from the Mongo cursor. The
+     * caller is responsible for closing the returned stream.
+     */
+    public Stream<Branch> streamAll() {
+        log.info("Going to stream all branches");
+        return this.branchRepository.streamAllByOrderByCodeAsc();
+    }
+
     public void create(Branch branch) throws CRUDException {
         try {
             log.info("Creating branch with code: {}", branch.getCode());
@@ -53,21 +119,88 @@ public class BranchService {
         }
     }
 
-    public void update(String code, Branch branch) throws CRUDException {
-        
+    /**
+     * Inserts the branches in unordered bulk writes of {@link #BULK_BATCH_SIZE}
+     * documents. A failing branch, for example a duplicated code, does not stop
+     * the rest of the import; its outcome is reported in the returned list, in
+     * the same order as the given branches.
+     */
+    public List<BranchImportResult> createAll(List<Branch> branches) {
+        log.info("Going to import {} branches", branches.size());
+        List<BranchImportResult> results = new ArrayList<>(branches.size());
+        for (int from = 0; from < branches.size(); from += BULK_BATCH_SIZE) {
+            List<Branch> batch = branches.subList(from, Math.min(from + BULK_BATCH_SIZE, branches.size()));
+            Map<Integer, BranchWriteError> errors;
+            try {
+                errors = this.branchRepository.insertUnordered(batch);
+            } catch (Exception e) {
+                log.error("Error in branch import batch starting at {}: {}", from, e.getMessage());
+                for (int i = 0; i < batch.size(); i++) {
+                    results.add(new BranchImportResult(from + i, batch.get(i).getCode(), BranchImportResult.FAILED,
+                            e.getMessage()));
+                }
+                continue;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                BranchWriteError error = errors.get(i);
+                if (error == null) {
+                    results.add(new BranchImportResult(from + i, batch.get(i).getCode(), BranchImportResult.CREATED,
+                            null));
+                } else {
+                    results.add(new BranchImportResult(from + i, batch.get(i).getCode(),
+                            error.isDuplicateKey() ? BranchImportResult.DUPLICATED : BranchImportResult.FAILED,
+                            error.getMessage()));
+                }
+            }
+        }
+        log.info("Imported {} of {} branches", results.stream()
+                .filter(r -> BranchImportResult.CREATED.equals(r.getStatus())).count(), branches.size());
+        return results;
+    }
+
+    /**
+     * Updates the branch with a single findAndModify. If the given branch has a
+     * version it is used as a precondition, and a concurrent modification is
+     * reported with a 409 error code.
+     */
+    public Branch update(String code, Branch branch) throws CRUDException {
+        Branch updated;
+        boolean missing;
         try {
             log.info("Going to update branch with code: {} ", code);
             log.debug("Going to update branch with code: {} with the following data {}", code, branch);
-            Branch branchTmp = this.branchRepository.findByCode(code);
-            if (branchTmp==null) {
-                throw new CRUDException(404, "Branch with code: {"+code+"} does not exist");
-            }
-            branchTmp.setName(branch.getName());
-            this.branchRepository.save(branchTmp);
-            log.debug("Branch with id: {} and code: {} has been updated with the following info {}", branchTmp.getId(), branchTmp.getCode(), branchTmp);
+            updated = this.branchRepository.updateByCode(code, branch);
+            missing = updated == null && (branch.getVersion() == null || !this.branchRepository.existsByCode(code));
         } catch (Exception e) {
             log.error("Error when try to update branch: {}, with the following info: {}", e.getMessage(), branch);
             throw new CRUDException(520, "Branch cannot be updated, error:" + e.getMessage(), e);
         }
+        if (missing) {
+            throw new CRUDException(404, "Branch with code: {"+code+"} does not exist");
+        }
+        if (updated == null) {
+            log.warn("Branch with code: {} was not updated, version {} is outdated", code, branch.getVersion());
+            throw new CRUDException(409, "Branch with code: {"+code+"} has been modified, version: {"
+                    + branch.getVersion() + "} is outdated");
+        }
+        this.branchCache.put(updated);
+        log.debug("Branch with id: {} and code: {} has been updated with the following info {}", updated.getId(), updated.getCode(), updated);
+        return updated;
+    }
+
+    private static String encodeToken(String code) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(code.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeToken(String token) throws CRUDException {
+        try {
+            return new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new CRUDException(400, "Invalid continuation token: {" + token + "}");
+        }
+    }
+
+    public SingleFlight<String, Branch> getCodeLookups() {
+        return this.codeLookups;
     }
 }
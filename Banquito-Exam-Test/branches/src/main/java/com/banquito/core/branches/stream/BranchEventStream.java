@@ -0,0 +1,67 @@
+package com.banquito.core.branches.stream;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.banquito.core.branches.controller.mapper.BranchMapper;
+import com.banquito.core.branches.model.Branch;
+import com.banquito.core.common.stream.SseEventHub;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes every branch change to the event stream subscribers. Changes are fed
+ * by {@link com.banquito.core.branches.cache.BranchChangeStreamListener}, so
+ * every instance sees the writes of all the others; the event id is the
+ * cluster time of the change, which increases across the whole replica set.
+ * Without a change stream subscribers only receive heartbeats.
+ */
+@Slf4j
+@Component
+public class BranchEventStream {
+
+    private final ObjectMapper objectMapper;
+    private final SseEventHub hub;
+
+    public BranchEventStream(ObjectMapper objectMapper,
+            @Value("${banquito.stream.branches.buffer-size:1000}") int bufferSize,
+            @Value("${banquito.stream.timeout-ms:1800000}") long timeoutMs) {
+        this.objectMapper = objectMapper;
+        this.hub = new SseEventHub(bufferSize, timeoutMs);
+    }
+
+    public SseEmitter subscribe(Long lastEventId) {
+        log.info("New branch event stream subscriber, last event id: {}", lastEventId);
+        return this.hub.subscribe(lastEventId);
+    }
+
+    /**
+     * @param clusterTime the cluster time of the change
+     * @param operation   the change stream operation, e.g. insert or delete
+     * @param id          the id of the branch
+     * @param branch      the branch after the change, null if it was deleted
+     */
+    public void onChange(long clusterTime, String operation, String id, Branch branch) {
+        Object payload = branch == null ? Map.of("id", id) : BranchMapper.mapToBranchRQRS(branch);
+        try {
+            this.hub.publish(clusterTime, operation, this.objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            log.warn("Branch event for id: {} cannot be written: {}", id, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${banquito.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        this.hub.heartbeat();
+    }
+
+    public int getSubscribers() {
+        return this.hub.getSubscribers();
+    }
+}
@@ -0,0 +1,100 @@
+package com.banquito.core.branches.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.banquito.core.branches.model.Branch;
+
+public class BranchCacheTest {
+
+    private AtomicLong clock;
+    private BranchCache branchCache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        branchCache = new BranchCache(2, Duration.ofSeconds(10), clock::get);
+    }
+
+    @Test
+    void testGetByCodeAndId() {
+        branchCache.put(branch("id1", "01"));
+
+        assertEquals("01", branchCache.getByCode("01").getCode());
+        assertEquals("01", branchCache.getById("id1").getCode());
+        assertEquals(2, branchCache.getHits());
+    }
+
+    @Test
+    void testEntriesExpireAfterTtl() {
+        branchCache.put(branch("id1", "01"));
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertNull(branchCache.getByCode("01"));
+        assertNull(branchCache.getById("id1"));
+        assertEquals(0, branchCache.size());
+    }
+
+    @Test
+    void testLeastRecentlyUsedIsEvicted() {
+        branchCache.put(branch("id1", "01"));
+        branchCache.put(branch("id2", "02"));
+        branchCache.getByCode("01");
+        branchCache.put(branch("id3", "03"));
+
+        assertEquals(2, branchCache.size());
+        assertNull(branchCache.getById("id2"));
+        assertEquals("01", branchCache.getById("id1").getCode());
+    }
+
+    @Test
+    void testEvictById() {
+        branchCache.put(branch("id1", "01"));
+        branchCache.evictById("id1");
+
+        assertNull(branchCache.getByCode("01"));
+    }
+
+    @Test
+    void testReadEvictedSinceStampIsNotPut() {
+        long stamp = branchCache.stamp();
+        branchCache.evictById("id1");
+        branchCache.put(branch("id1", "01"), stamp);
+
+        assertNull(branchCache.getByCode("01"));
+        assertEquals(0, branchCache.size());
+    }
+
+    @Test
+    void testReadClearedSinceStampIsNotPut() {
+        long stamp = branchCache.stamp();
+        branchCache.clear();
+        branchCache.put(branch("id1", "01"), stamp);
+
+        assertEquals(0, branchCache.size());
+    }
+
+    @Test
+    void testReadStampedAfterEvictionIsPut() {
+        branchCache.evictById("id1");
+        long stamp = branchCache.stamp();
+        branchCache.evictById("id2");
+        branchCache.put(branch("id1", "01"), stamp);
+
+        assertEquals("01", branchCache.getById("id1").getCode());
+    }
+
+    private Branch branch(String id, String code) {
+        Branch branch = new Branch();
+        branch.setId(id);
+        branch.setCode(code);
+        branch.setName("Branch" + code);
+        return branch;
+    }
+}
@@ -0,0 +1,60 @@
+package com.banquito.core.branches.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.banquito.core.branches.cache.BranchCache;
+import com.banquito.core.branches.model.Branch;
+import com.banquito.core.branches.repository.BranchRepository;
+import com.banquito.core.branches.service.BranchService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class MetricsConfigTest {
+
+    @Test
+    void testBranchCacheMetrics() {
+        BranchCache branchCache = new BranchCache(10, Duration.ofMinutes(5), System::nanoTime);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new MetricsConfig().branchCacheMetrics(branchCache).bindTo(registry);
+
+        Branch branch = new Branch();
+        branch.setId("idTest");
+        branch.setCode("111");
+        branchCache.put(branch);
+        branchCache.getByCode("111");
+        branchCache.getByCode("111");
+        branchCache.getByCode("222");
+
+        assertEquals(2.0, registry.get("cache.gets").tags("cache", MetricsConfig.BRANCH_CACHE, "result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", MetricsConfig.BRANCH_CACHE, "result", "miss")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.size").tags("cache", MetricsConfig.BRANCH_CACHE).gauge().value());
+    }
+
+    @Test
+    void testBranchLookupCoalescingMetrics() {
+        BranchRepository branchRepository = mock(BranchRepository.class);
+        when(branchRepository.findByCode("111")).thenReturn(null);
+        BranchService branchService = new BranchService(branchRepository,
+                new BranchCache(10, Duration.ofMinutes(5), System::nanoTime));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new MetricsConfig().branchLookupCoalescingMetrics(branchService).bindTo(registry);
+
+        branchService.lookByCode("111");
+        branchService.lookByCode("111");
+
+        assertEquals(2.0, registry.get("coalescing.calls")
+                .tags("lookup", MetricsConfig.BRANCH_BY_CODE, "result", "leader").functionCounter().count());
+        assertEquals(0.0, registry.get("coalescing.calls")
+                .tags("lookup", MetricsConfig.BRANCH_BY_CODE, "result", "shared").functionCounter().count());
+        assertEquals(0.0, registry.get("coalescing.inflight").tags("lookup", MetricsConfig.BRANCH_BY_CODE)
+                .gauge().value());
+    }
+}
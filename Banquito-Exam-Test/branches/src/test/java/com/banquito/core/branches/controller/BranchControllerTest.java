@@ -1,13 +1,19 @@
 package com.banquito.core.branches.controller;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,20 +21,34 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.banquito.core.branches.controller.BranchController;
+import com.banquito.core.branches.controller.dto.BranchImportRS;
+import com.banquito.core.branches.controller.dto.BranchPageRS;
 import com.banquito.core.branches.controller.dto.BranchRQRS;
 import com.banquito.core.branches.exception.CRUDException;
 import com.banquito.core.branches.model.Branch;
+import com.banquito.core.branches.service.BranchImportResult;
+import com.banquito.core.branches.service.BranchPage;
 import com.banquito.core.branches.service.BranchService;
+import com.banquito.core.branches.stream.BranchEventStream;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class BranchControllerTest {
 
     @Mock
     private BranchService branchService;
 
+    @Mock
+    private BranchEventStream branchEventStream;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private BranchController branchController;
 
@@ -37,6 +57,14 @@ public class BranchControllerTest {
         MockitoAnnotations.initMocks(this);
     }
 
+    @Test
+    void testStream() {
+        SseEmitter emitter = new SseEmitter();
+        when(branchEventStream.subscribe(42L)).thenReturn(emitter);
+
+        assertEquals(emitter, branchController.stream(42L));
+    }
+
     @Test
     void testCreateValid() throws CRUDException {
         BranchRQRS branchRQRS = new BranchRQRS();
@@ -45,7 +73,7 @@ public class BranchControllerTest {
 
         branchService.create(any(Branch.class));
 
-        BranchController branchController = new BranchController(branchService);
+        BranchController branchController = new BranchController(branchService, branchEventStream, objectMapper);
         ResponseEntity response = branchController.create(branchRQRS);
         assertNotEquals(HttpStatus.CREATED, response.getStatusCode());
 
@@ -62,12 +90,12 @@ void testCreateException() throws CRUDException {
     // mock branchService.create() to throw CRUDException
     Mockito.doThrow(new CRUDException(123, "Error creating branch")).when(branchService).create(Mockito.any(Branch.class));
 
-    // call create() method of BranchController and get the response
-    BranchController branchController = new BranchController(branchService);
-    ResponseEntity response = branchController.create(branchRQRS);
+    // call create() method of BranchController
+    BranchController branchController = new BranchController(branchService, branchEventStream, objectMapper);
+    CRUDException e = assertThrows(CRUDException.class, () -> branchController.create(branchRQRS));
 
-    // assert that the response status is BAD_REQUEST
-    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    // assert that the error code reaches the CRUDExceptionHandler untouched
+    assertEquals(123, e.getErrorCode());
 }
 
 
@@ -89,7 +117,7 @@ void testCreateException() throws CRUDException {
         when(branchService.getAll()).thenReturn(branches);
 
         // Configurar el controlador y hacer una solicitud GET simulada
-        BranchController branchController = new BranchController(branchService);
+        BranchController branchController = new BranchController(branchService, branchEventStream, objectMapper);
         ResponseEntity<List<BranchRQRS>> response = branchController.obtainAll();
 
         // Verificar que la respuesta tenga un código de estado HTTP 200 y los datos
@@ -98,6 +126,52 @@ void testCreateException() throws CRUDException {
         // assertEquals(branches, response.getBody());
     }
 
+    @Test
+    void testObtainAllFields() throws CRUDException {
+        when(branchService.getAllFields(List.of("code"))).thenReturn(List.of(Map.of("code", "111")));
+
+        BranchController branchController = new BranchController(branchService, branchEventStream, objectMapper);
+        ResponseEntity<List<Map<String, Object>>> response = branchController.obtainAllFields("code");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(Map.of("code", "111")), response.getBody());
+    }
+
+    @Test
+    void testObtainAllFieldsWithUnknownField() {
+        BranchController branchController = new BranchController(branchService, branchEventStream, objectMapper);
+        CRUDException e = assertThrows(CRUDException.class, () -> branchController.obtainAllFields("code,address"));
+
+        assertEquals(400, e.getErrorCode());
+        Mockito.verifyNoInteractions(branchService);
+    }
+
+    @Test
+    void testObtainPage() throws CRUDException {
+        Branch branch1 = new Branch();
+        branch1.setCode("111");
+        branch1.setName("Branch1");
+
+        List<Branch> branches = new ArrayList<>();
+        branches.add(branch1);
+        when(branchService.getPage(null, 1)).thenReturn(new BranchPage(branches, "MTEx"));
+
+        ResponseEntity<BranchPageRS> response = branchController.obtainPage(1, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getBranches().size());
+        assertEquals("MTEx", response.getBody().getNext());
+    }
+
+    @Test
+    void testObtainPageWithInvalidToken() throws CRUDException {
+        when(branchService.getPage("bad", 10)).thenThrow(new CRUDException(400, "Invalid continuation token"));
+
+        CRUDException e = assertThrows(CRUDException.class, () -> branchController.obtainPage(10, "bad"));
+
+        assertEquals(400, e.getErrorCode());
+    }
+
     @Test
     void testObtainByCodeWithValidCode() {
         Branch branch = new Branch();
@@ -106,7 +180,7 @@ void testCreateException() throws CRUDException {
 
         when(branchService.lookByCode(anyString())).thenReturn(branch);
 
-        BranchController branchController = new BranchController(branchService);
+        BranchController branchController = new BranchController(branchService, branchEventStream, objectMapper);
         ResponseEntity<BranchRQRS> response = branchController.obtainByCode("111");
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -117,12 +191,36 @@ void testCreateException() throws CRUDException {
     void testObtainByCodeWithInvalidCode() {
         when(branchService.lookByCode(anyString())).thenReturn(null);
 
-        BranchController branchController = new BranchController(branchService);
+        BranchController branchController = new BranchController(branchService, branchEventStream, objectMapper);
         ResponseEntity<BranchRQRS> response = branchController.obtainByCode("111");
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
 
+    @Test
+    void testCreateBulkNdjson() {
+        String body = "{\"code\":\"111\",\"name\":\"Branch1\"}\n{\"code\":\"222\",\"name\":\"Branch2\"}\n";
+        List<BranchImportResult> results = new ArrayList<>();
+        results.add(new BranchImportResult(0, "111", BranchImportResult.CREATED, null));
+        results.add(new BranchImportResult(1, "222", BranchImportResult.DUPLICATED, "duplicate key"));
+        when(branchService.createAll(anyList())).thenReturn(results);
+
+        ResponseEntity<List<BranchImportRS>> response = branchController
+                .createBulkNdjson(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().size());
+        assertEquals(BranchImportResult.DUPLICATED, response.getBody().get(1).getStatus());
+    }
+
+    @Test
+    void testCreateBulkNdjsonMalformed() {
+        ResponseEntity<List<BranchImportRS>> response = branchController
+                .createBulkNdjson(new ByteArrayInputStream("{\"code\":".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
     @Test
     void testUpdate() throws CRUDException {
 
@@ -130,7 +228,7 @@ void testCreateException() throws CRUDException {
         branch1.setCode("111");
         branch1.setName("Branch1");
         branch1.setId("idTest");
-        when(branchService.lookByCode("111")).thenReturn(branch1);
+        when(branchService.update(eq("111"), any(Branch.class))).thenReturn(branch1);
 
         BranchRQRS branchRQRS = new BranchRQRS();
         branchRQRS.setCode("111");
@@ -161,11 +259,11 @@ void testUpdateException() throws CRUDException {
     Mockito.doThrow(new CRUDException(456, "Error updating branch")).when(branchService).update(Mockito.anyString(), Mockito.any(Branch.class));
 
     // call update() method of BranchController and get the response
-    BranchController branchController = new BranchController(branchService);
-    ResponseEntity<BranchRQRS> response = branchController.update(code, branchRQRS);
+    BranchController branchController = new BranchController(branchService, branchEventStream, objectMapper);
+    CRUDException e = assertThrows(CRUDException.class, () -> branchController.update(code, branchRQRS));
 
-    // assert that the response status is 456 (the error code set in the mocked CRUDException)
-    assertEquals(456, response.getStatusCodeValue());
+    // assert that the error code reaches the CRUDExceptionHandler untouched
+    assertEquals(456, e.getErrorCode());
 }
 
 
@@ -0,0 +1,104 @@
+package com.banquito.core.branches.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.banquito.core.branches.exception.CRUDException;
+import com.banquito.core.branches.model.Branch;
+import com.banquito.core.branches.service.BranchService;
+import com.banquito.core.branches.stream.BranchEventStream;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class CRUDExceptionHandlerTest {
+
+    @Mock
+    private BranchService branchService;
+
+    @Mock
+    private BranchEventStream branchEventStream;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        BranchController branchController = new BranchController(branchService, branchEventStream, new ObjectMapper());
+        mockMvc = MockMvcBuilders.standaloneSetup(branchController)
+                .setControllerAdvice(new CRUDExceptionHandler()).build();
+    }
+
+    @Test
+    void testErrorCodeIsResponseStatus() throws Exception {
+        when(branchService.update(eq("999"), any(Branch.class)))
+                .thenThrow(new CRUDException(404, "Branch with code: {999} does not exist"));
+
+        mockMvc.perform(put("/api/v1/branches/999").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"code\":\"999\",\"name\":\"Branch\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testCreateWithDuplicateCodeIsConflict() throws Exception {
+        doThrow(new CRUDException(510, "Branch cannot be created",
+                new DuplicateKeyException("E11000 duplicate key error, dup key: { code: \"001\" }")))
+                .when(branchService).create(any(Branch.class));
+
+        mockMvc.perform(post("/api/v1/branches").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"code\":\"001\",\"name\":\"Branch\"}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testUpdateFailureIsServerError() throws Exception {
+        when(branchService.update(eq("001"), any(Branch.class)))
+                .thenThrow(new CRUDException(520, "Branch cannot be updated", new IllegalStateException()));
+
+        mockMvc.perform(put("/api/v1/branches/001").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"code\":\"001\",\"name\":\"Branch\"}"))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    void testValidationOutcome() throws Exception {
+        mockMvc.perform(get("/api/v1/branches").param("fields", "address"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testFieldsWithLimitAreRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/branches").param("fields", "code").param("limit", "10"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(branchService);
+    }
+
+    @Test
+    void testFieldsWithNdjsonAreRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/branches").param("fields", "code").param("format", "ndjson"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(branchService);
+    }
+
+    @Test
+    void testExpectedOutcomeIsStackless() {
+        assertEquals(0, new CRUDException(404, "not found").getStackTrace().length);
+        assertTrue(new CRUDException(520, "failed", new IllegalStateException()).getStackTrace().length > 0);
+    }
+}
@@ -0,0 +1,123 @@
+package com.banquito.core.branches.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.banquito.core.branches.BranchesApplication;
+import com.banquito.core.branches.config.MongoConfig;
+import com.banquito.core.branches.model.Branch;
+import com.banquito.core.branches.repository.BranchRepository;
+import com.banquito.core.common.loadtest.LoadGenerator;
+import com.banquito.core.common.loadtest.LoadGenerator.LoadReport;
+
+/**
+ * Boots the branches service on a random port, with MongoDB replaced by
+ * {@link InMemoryBranchRepository}, and drives a mix of reads and writes at a
+ * fixed arrival rate. Tagged {@code load}, so it only runs with
+ * {@code mvn test -Pload-test}; the rate and the length of the run are set
+ * with {@code -Dloadtest.rate}, {@code -Dloadtest.duration-seconds} and
+ * {@code -Dloadtest.warmup-seconds}. {@code -Dloadtest.repository-latency-ms}
+ * makes every repository call block for that long, as a call to MongoDB
+ * would, so the request threads are held as they are in production.
+ */
+@Tag("load")
+@SpringBootTest(classes = BranchLoadTest.LoadTestApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "banquito.mongo.host=localhost",
+                "banquito.mongo.db=branches",
+                "banquito.mongo.usr=",
+                "banquito.mongo.pwd=",
+                "banquito.mongo.aut=0",
+                "banquito.cache.branches.change-stream=false",
+                "logging.level.com.banquito=WARN" })
+public class BranchLoadTest {
+
+    private static final int SEEDED_BRANCHES = 1000;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = { MongoAutoConfiguration.class, MongoDataAutoConfiguration.class,
+            MongoRepositoriesAutoConfiguration.class })
+    @EnableScheduling
+    @ComponentScan(basePackageClasses = BranchesApplication.class, excludeFilters = {
+            @ComponentScan.Filter(type = FilterType.CUSTOM, classes = TypeExcludeFilter.class),
+            @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                    classes = { BranchesApplication.class, MongoConfig.class }) })
+    static class LoadTestApplication {
+
+        @Bean
+        public BranchRepository branchRepository() {
+            return InMemoryBranchRepository.create(
+                    Duration.ofMillis(Long.getLong("loadtest.repository-latency-ms", 0)));
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @BeforeEach
+    public void setUp() {
+        List<Branch> branches = new ArrayList<>();
+        for (int i = 0; i < SEEDED_BRANCHES; i++) {
+            Branch branch = new Branch();
+            branch.setCode(seededCode(i));
+            branch.setName("Branch " + i);
+            branches.add(branch);
+        }
+        this.branchRepository.insertUnordered(branches);
+    }
+
+    @Test
+    void testMixedLoad() throws InterruptedException {
+        String base = "http://localhost:" + this.port + "/api/v1/branches";
+        LoadReport report = new LoadGenerator()
+                .add("GET /{code}", 60, i -> HttpRequest.newBuilder(URI.create(base + "/" + seededCode(i)))
+                        .GET().build())
+                .add("GET ?limit=20", 10, i -> HttpRequest.newBuilder(URI.create(base + "?limit=20"))
+                        .GET().build())
+                .add("POST", 15, i -> HttpRequest.newBuilder(URI.create(base))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"code\":\"LT" + i + "\",\"name\":\"Load test " + i + "\"}"))
+                        .build())
+                .add("PUT /{code}", 15, i -> HttpRequest.newBuilder(URI.create(base + "/" + seededCode(i)))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString("{\"name\":\"Branch " + i + "\"}"))
+                        .build())
+                .run(Integer.getInteger("loadtest.rate", 200),
+                        Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 5)),
+                        Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 20)));
+
+        report.print("branches");
+        assertEquals(0, report.getErrors());
+    }
+
+    private static String seededCode(int i) {
+        return String.format("B%04d", i % SEEDED_BRANCHES);
+    }
+}
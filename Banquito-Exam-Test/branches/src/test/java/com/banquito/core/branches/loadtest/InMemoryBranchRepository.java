@@ -0,0 +1,203 @@
+package com.banquito.core.branches.loadtest;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
+
+import com.banquito.core.branches.model.Branch;
+import com.banquito.core.branches.repository.BranchRepository;
+import com.banquito.core.branches.repository.BranchWriteError;
+
+/**
+ * Stand-in for MongoDB behind {@link BranchRepository}, for running the
+ * service without a database. Only the methods used by the service are
+ * implemented; {@link #create()} exposes them through the repository
+ * interface and any other method throws. Branches are copied in and out, as
+ * they would be by a real store, and codes are unique. {@link #create(Duration)}
+ * also blocks the calling thread for a fixed time on every call, standing in
+ * for the round trip to the database.
+ */
+public class InMemoryBranchRepository {
+
+    private final ConcurrentSkipListMap<String, Branch> byCode = new ConcurrentSkipListMap<>();
+    private final Map<String, String> codeById = new ConcurrentHashMap<>();
+
+    public static BranchRepository create() {
+        return create(Duration.ZERO);
+    }
+
+    public static BranchRepository create(Duration latency) {
+        InMemoryBranchRepository repository = new InMemoryBranchRepository();
+        Map<Method, Method> methods = new ConcurrentHashMap<>();
+        return (BranchRepository) Proxy.newProxyInstance(BranchRepository.class.getClassLoader(),
+                new Class<?>[] { BranchRepository.class }, (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return method.invoke(repository, args);
+                    }
+                    Method target = methods.computeIfAbsent(method, InMemoryBranchRepository::implementation);
+                    if (!latency.isZero()) {
+                        Thread.sleep(latency);
+                    }
+                    try {
+                        return target.invoke(repository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    /**
+     * Generic repository methods such as {@code save(S)} are erased to their
+     * bound, so the implementation is matched by name and by parameters the
+     * interface method can accept.
+     */
+    private static Method implementation(Method method) {
+        for (Method candidate : InMemoryBranchRepository.class.getMethods()) {
+            if (candidate.getName().equals(method.getName())
+                    && candidate.getParameterCount() == method.getParameterCount()
+                    && accepts(method.getParameterTypes(), candidate.getParameterTypes())) {
+                return candidate;
+            }
+        }
+        throw new UnsupportedOperationException(method.getName() + " is not supported in memory");
+    }
+
+    private static boolean accepts(Class<?>[] declared, Class<?>[] implemented) {
+        for (int i = 0; i < declared.length; i++) {
+            if (!declared[i].isAssignableFrom(implemented[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Branch save(Branch branch) {
+        Branch stored = copy(branch);
+        if (stored.getId() == null) {
+            stored.setId(ObjectId.get().toHexString());
+        }
+        if (stored.getVersion() == null) {
+            stored.setVersion(0L);
+        }
+        if (this.byCode.putIfAbsent(stored.getCode(), stored) != null) {
+            throw new DuplicateKeyException("E11000 duplicate key error, dup key: { code: \"" + stored.getCode()
+                    + "\" }");
+        }
+        this.codeById.put(stored.getId(), stored.getCode());
+        branch.setId(stored.getId());
+        branch.setVersion(stored.getVersion());
+        return branch;
+    }
+
+    public Map<Integer, BranchWriteError> insertUnordered(List<Branch> branches) {
+        Map<Integer, BranchWriteError> errors = new HashMap<>();
+        for (int i = 0; i < branches.size(); i++) {
+            try {
+                this.save(branches.get(i));
+            } catch (DuplicateKeyException e) {
+                errors.put(i, new BranchWriteError(BranchWriteError.DUPLICATE_KEY, e.getMessage()));
+            }
+        }
+        return errors;
+    }
+
+    public Branch updateByCode(String code, Branch branch) {
+        Branch[] updated = new Branch[1];
+        this.byCode.computeIfPresent(code, (key, stored) -> {
+            if (branch.getVersion() != null && !branch.getVersion().equals(stored.getVersion())) {
+                return stored;
+            }
+            Branch next = copy(stored);
+            next.setVersion(stored.getVersion() + 1);
+            if (branch.getName() != null) {
+                next.setName(branch.getName());
+            }
+            updated[0] = next;
+            return next;
+        });
+        return updated[0] == null ? null : copy(updated[0]);
+    }
+
+    public Optional<Branch> findById(String id) {
+        String code = this.codeById.get(id);
+        return Optional.ofNullable(code == null ? null : this.findByCode(code));
+    }
+
+    public Branch findByCode(String code) {
+        Branch branch = this.byCode.get(code);
+        return branch == null ? null : copy(branch);
+    }
+
+    public boolean existsByCode(String code) {
+        return this.byCode.containsKey(code);
+    }
+
+    public List<Branch> findAll() {
+        return this.page(this.byCode, Integer.MAX_VALUE);
+    }
+
+    public List<Branch> findAllByOrderByCodeAsc(Pageable pageable) {
+        return this.page(this.byCode, pageable.getPageSize());
+    }
+
+    public List<Branch> findByCodeGreaterThanOrderByCodeAsc(String code, Pageable pageable) {
+        return this.page(this.byCode.tailMap(code, false), pageable.getPageSize());
+    }
+
+    public Stream<Branch> streamAllByOrderByCodeAsc() {
+        return this.byCode.values().stream().map(InMemoryBranchRepository::copy);
+    }
+
+    public List<Map<String, Object>> findAllFields(List<String> fields) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Branch branch : this.byCode.values()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                switch (field) {
+                    case "id" -> row.put(field, branch.getId());
+                    case "code" -> row.put(field, branch.getCode());
+                    case "name" -> row.put(field, branch.getName());
+                    case "version" -> row.put(field, branch.getVersion());
+                    default -> throw new IllegalArgumentException(field);
+                }
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private List<Branch> page(ConcurrentNavigableMap<String, Branch> branches, int limit) {
+        List<Branch> page = new ArrayList<>();
+        for (Branch branch : branches.values()) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(copy(branch));
+        }
+        return page;
+    }
+
+    private static Branch copy(Branch branch) {
+        Branch copy = new Branch();
+        copy.setId(branch.getId());
+        copy.setCode(branch.getCode());
+        copy.setName(branch.getName());
+        copy.setVersion(branch.getVersion());
+        return copy;
+    }
+}
@@ -4,16 +4,21 @@ package com.banquito.core.branches.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.logging.Logger;
 
@@ -23,14 +28,19 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
+import com.banquito.core.branches.cache.BranchCache;
 import com.banquito.core.branches.exception.CRUDException;
 import com.banquito.core.branches.model.Branch;
 import com.banquito.core.branches.repository.BranchRepository;
+import com.banquito.core.branches.repository.BranchWriteError;
 
 
 public class BranchServiceTest {
     private BranchService branchService;
+    private BranchCache branchCache;
 
     @Mock
     private Logger logger;
@@ -41,7 +51,8 @@ public class BranchServiceTest {
     @BeforeEach
     void setUp() throws Exception {
         MockitoAnnotations.initMocks(this);
-        branchService = new BranchService(branchRepositoryMock);
+        branchCache = new BranchCache(100, Duration.ofMinutes(5), System::nanoTime);
+        branchService = new BranchService(branchRepositoryMock, branchCache);
     }
 
     @Test
@@ -72,6 +83,27 @@ public class BranchServiceTest {
     }
 
 
+    @Test
+    void testCreateAllReportsEveryItem() {
+        List<Branch> branches = new ArrayList<Branch>();
+        for (String code : new String[] {"01", "02", "03"}) {
+            Branch branch = new Branch();
+            branch.setCode(code);
+            branches.add(branch);
+        }
+        Map<Integer, BranchWriteError> errors = new HashMap<>();
+        errors.put(1, new BranchWriteError(BranchWriteError.DUPLICATE_KEY, "E11000 duplicate key error"));
+        when(branchRepositoryMock.insertUnordered(branches)).thenReturn(errors);
+
+        List<BranchImportResult> results = branchService.createAll(branches);
+
+        assertEquals(3, results.size());
+        assertEquals(BranchImportResult.CREATED, results.get(0).getStatus());
+        assertEquals(BranchImportResult.DUPLICATED, results.get(1).getStatus());
+        assertEquals("02", results.get(1).getCode());
+        assertEquals(BranchImportResult.CREATED, results.get(2).getStatus());
+    }
+
     @Test
     void testGetAll() {
         List<Branch> branches = new ArrayList<Branch>();
@@ -94,6 +126,35 @@ public class BranchServiceTest {
         verify(branchRepositoryMock, times(1)).findAll();
     }
 
+    @Test
+    void testGetPage() throws CRUDException {
+        List<Branch> branches = new ArrayList<Branch>();
+        for (String code : new String[] {"01", "02", "03"}) {
+            Branch branch = new Branch();
+            branch.setCode(code);
+            branches.add(branch);
+        }
+        when(branchRepositoryMock.findAllByOrderByCodeAsc(any(Pageable.class))).thenReturn(branches);
+        when(branchRepositoryMock.findByCodeGreaterThanOrderByCodeAsc(any(String.class), any(Pageable.class)))
+                .thenReturn(branches.subList(2, 3));
+
+        BranchPage first = branchService.getPage(null, 2);
+        BranchPage second = branchService.getPage(first.getNext(), 2);
+
+        assertEquals(2, first.getBranches().size());
+        assertNotNull(first.getNext());
+        verify(branchRepositoryMock).findByCodeGreaterThanOrderByCodeAsc("02", PageRequest.of(0, 3));
+        assertEquals(1, second.getBranches().size());
+        assertNull(second.getNext());
+    }
+
+    @Test
+    void testGetPageWithInvalidLimit() {
+        CRUDException thrown = assertThrows(CRUDException.class, () -> branchService.getPage(null, 0));
+
+        assertEquals(400, thrown.getErrorCode());
+    }
+
     @Test
     void testLookByCode() {
         String code = "01";
@@ -110,6 +171,40 @@ public class BranchServiceTest {
         verify(branchRepositoryMock, times(1)).findByCode(code);
     }
 
+    @Test
+    void testLookByCodeUsesCache() {
+        String code = "01";
+        Branch branch = new Branch();
+        branch.setId("id01");
+        branch.setCode(code);
+        branch.setName("BranchTest");
+        when(branchRepositoryMock.findByCode(code)).thenReturn(branch);
+
+        branchService.lookByCode(code);
+        Branch result = branchService.lookByCode(code);
+
+        assertEquals("BranchTest", result.getName());
+        verify(branchRepositoryMock, times(1)).findByCode(code);
+    }
+
+    @Test
+    void testLookByCodeDoesNotCacheBranchEvictedWhileRead() {
+        String code = "01";
+        Branch branch = new Branch();
+        branch.setId("id01");
+        branch.setCode(code);
+        branch.setName("BranchTest");
+        when(branchRepositoryMock.findByCode(code)).thenAnswer(invocation -> {
+            branchCache.evictById("id01");
+            return branch;
+        });
+
+        branchService.lookByCode(code);
+        branchService.lookByCode(code);
+
+        verify(branchRepositoryMock, times(2)).findByCode(code);
+    }
+
     @Test
     void testLookById() throws CRUDException {
         String id = "01";
@@ -145,20 +240,38 @@ public class BranchServiceTest {
 
     @Test
     void testUpdate() throws CRUDException {
-        ArgumentCaptor<Branch> argument = ArgumentCaptor.forClass(Branch.class);
-
         String name = "branch2";
         String code = "222";
         Branch branch = new Branch();
-
         branch.setCode("222");
         branch.setName("branch2");
-        when(branchRepositoryMock.findByCode(any(String.class))).thenReturn(branch);
+        Branch updated = new Branch();
+        updated.setId("id222");
+        updated.setCode(code);
+        updated.setName(name);
+        updated.setVersion(1L);
+        when(branchRepositoryMock.updateByCode(code, branch)).thenReturn(updated);
+
+        Branch result = branchService.update(code, branch);
+
+        assertEquals(name, result.getName());
+        assertEquals(1L, result.getVersion());
+        verify(branchRepositoryMock, never()).findByCode(any(String.class));
+        verify(branchRepositoryMock, never()).save(any(Branch.class));
+    }
+
+    @Test
+    void testUpdateWithOutdatedVersion() {
+        String code = "222";
+        Branch branch = new Branch();
+        branch.setName("branch2");
+        branch.setVersion(3L);
+        when(branchRepositoryMock.updateByCode(code, branch)).thenReturn(null);
+        when(branchRepositoryMock.existsByCode(code)).thenReturn(true);
 
-        branchService.update(code, branch);
-        verify(branchRepositoryMock).save(argument.capture());
-        assertEquals(name, argument.getValue().getName());
+        CRUDException thrown = assertThrows(CRUDException.class, () -> branchService.update(code, branch));
 
+        assertEquals(409, thrown.getErrorCode());
     }
 
     @Test
@@ -168,16 +281,28 @@ public class BranchServiceTest {
         Branch branch = new Branch();
         branch.setCode("222");
         branch.setName("branch2");
-        when(branchRepositoryMock.findByCode(code)).thenReturn(null);
+        when(branchRepositoryMock.updateByCode(code, branch)).thenReturn(null);
         
         // Act and Assert
         try {
             branchService.update(code, branch);
             fail("Expected CRUDException to be thrown");
         } catch (CRUDException e) {
-            assertEquals(520, e.getErrorCode());
-            assertEquals("Branch cannot be updated, error:Branch with code: {222} does not exist", e.getMessage());
+            assertEquals(404, e.getErrorCode());
+            assertEquals("Branch with code: {222} does not exist", e.getMessage());
         }
     }
 
+    @Test
+    void testUpdateWithRepositoryError() {
+        String code = "222";
+        Branch branch = new Branch();
+        branch.setName("branch2");
+        when(branchRepositoryMock.updateByCode(code, branch)).thenThrow(new IllegalStateException("database down"));
+
+        CRUDException thrown = assertThrows(CRUDException.class, () -> branchService.update(code, branch));
+
+        assertEquals(520, thrown.getErrorCode());
+    }
+
 }
@@ -0,0 +1,90 @@
+package com.banquito.core.common.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Coalesces concurrent lookups of the same key: the first caller runs the
+ * lookup and every caller arriving while it is in flight waits for it and
+ * gets its result, or the same exception. Nothing is kept once the lookup
+ * completes, so this is not a cache; it only bounds the lookups in flight for
+ * a key to one.
+ *
+ * Waiting callers get the result passed through the share function given at
+ * construction. When results are mutable, such as JPA entities, it should
+ * return a copy so that no caller sees the changes of another; the identity
+ * is only fit for results that every caller treats as read-only.
+ *
+ * Callers that ran the lookup are counted as leaders and callers that waited
+ * for one as shared, so the coalescing ratio is shared over both.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+    private final UnaryOperator<V> share;
+
+    public SingleFlight() {
+        this(UnaryOperator.identity());
+    }
+
+    public SingleFlight(UnaryOperator<V> share) {
+        this.share = share;
+    }
+
+    public V execute(K key, Supplier<V> lookup) {
+        if (key == null) {
+            this.leaders.increment();
+            return lookup.get();
+        }
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> running = this.inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            this.shared.increment();
+            return this.share.apply(await(running));
+        }
+        this.leaders.increment();
+        try {
+            V value = lookup.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.inFlight.remove(key, call);
+        }
+    }
+
+    public long getLeaders() {
+        return this.leaders.sum();
+    }
+
+    public long getShared() {
+        return this.shared.sum();
+    }
+
+    public int inFlight() {
+        return this.inFlight.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
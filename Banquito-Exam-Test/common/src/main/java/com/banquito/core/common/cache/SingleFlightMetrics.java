@@ -0,0 +1,38 @@
+package com.banquito.core.common.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Reports a {@link SingleFlight} tagged with the name of its lookup. The
+ * coalescing ratio is {@code coalescing_calls_total{result="shared"}} over
+ * all calls.
+ */
+public class SingleFlightMetrics implements MeterBinder {
+
+    private final String lookup;
+    private final SingleFlight<?, ?> lookups;
+
+    public SingleFlightMetrics(String lookup, SingleFlight<?, ?> lookups) {
+        this.lookup = lookup;
+        this.lookups = lookups;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("coalescing.calls", this.lookups, SingleFlight::getLeaders)
+                .tags("lookup", this.lookup, "result", "leader")
+                .description("The number of lookups that ran the repository call.")
+                .register(registry);
+        FunctionCounter.builder("coalescing.calls", this.lookups, SingleFlight::getShared)
+                .tags("lookup", this.lookup, "result", "shared")
+                .description("The number of lookups that shared a repository call already in flight.")
+                .register(registry);
+        Gauge.builder("coalescing.inflight", this.lookups, SingleFlight::inFlight)
+                .tags("lookup", this.lookup)
+                .description("The number of keys with a repository call in flight.")
+                .register(registry);
+    }
+}
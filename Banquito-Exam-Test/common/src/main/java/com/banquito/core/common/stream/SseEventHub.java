@@ -0,0 +1,221 @@
+package com.banquito.core.common.stream;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fans change events out to Server-Sent Events subscribers.
+ *
+ * Subscribers are asynchronous requests: an idle one holds a connection but
+ * no thread. The last events are kept in a ring buffer so a client that
+ * reconnects with a Last-Event-ID header gets what it missed. When the
+ * buffer no longer reaches back that far the client gets a {@value #RESET}
+ * event instead and has to reload the full list. A stream whose events are
+ * all stored elsewhere can read the missed ones from there instead, with
+ * {@link #subscribe(Long, LongFunction)}.
+ */
+@Slf4j
+public class SseEventHub {
+
+    public static final String RESET = "reset";
+
+    private static final long UNKNOWN = Long.MAX_VALUE;
+
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final ArrayDeque<Event> buffer;
+    private final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+    private final Map<SseEmitter, List<Event>> held = new HashMap<>();
+    private long horizon = UNKNOWN;
+
+    public SseEventHub(int bufferSize, long timeoutMs) {
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.buffer = new ArrayDeque<>(bufferSize + 1);
+    }
+
+    /**
+     * Declares that every event after the given id will be published, so a
+     * client that has seen it can be resumed. Without this, resuming is only
+     * possible from the first event published.
+     */
+    public synchronized void startAfter(long id) {
+        if (this.horizon == UNKNOWN) {
+            this.horizon = id;
+        }
+    }
+
+    /**
+     * Publishes an event. Ids must be published in increasing order.
+     */
+    public void publish(long id, String name, String data) {
+        Event event = new Event(id, name, data);
+        List<SseEmitter> subscribers = new ArrayList<>();
+        synchronized (this) {
+            if (this.horizon == UNKNOWN) {
+                this.horizon = id;
+            }
+            this.buffer.addLast(event);
+            if (this.buffer.size() > this.bufferSize) {
+                this.horizon = this.buffer.removeFirst().id;
+            }
+            for (SseEmitter emitter : this.emitters) {
+                List<Event> heldEvents = this.held.get(emitter);
+                if (heldEvents == null) {
+                    subscribers.add(emitter);
+                } else {
+                    heldEvents.add(event);
+                }
+            }
+        }
+        for (SseEmitter emitter : subscribers) {
+            this.send(emitter, event.toSse());
+        }
+    }
+
+    /**
+     * Opens a subscription. With a last event id the buffered events after it
+     * are sent first; the emitter lock keeps live events from overtaking them.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(this.timeoutMs);
+        emitter.onCompletion(() -> this.remove(emitter));
+        emitter.onError(e -> this.remove(emitter));
+        synchronized (emitter) {
+            boolean resumable;
+            List<Event> missed = new ArrayList<>();
+            synchronized (this) {
+                resumable = lastEventId == null || (this.horizon != UNKNOWN && lastEventId >= this.horizon);
+                if (lastEventId != null && resumable) {
+                    for (Event event : this.buffer) {
+                        if (event.id > lastEventId) {
+                            missed.add(event);
+                        }
+                    }
+                }
+                this.emitters.add(emitter);
+            }
+            if (!resumable) {
+                log.debug("Cannot resume subscriber from event: {}, sending reset", lastEventId);
+                this.send(emitter, SseEmitter.event().name(RESET).data(""));
+            }
+            for (Event event : missed) {
+                this.send(emitter, event.toSse());
+            }
+        }
+        return emitter;
+    }
+
+    /**
+     * Opens a subscription whose missed events are read by the caller from
+     * where the events are stored. Live events published while they are read
+     * are held back and sent after them, except those already among them, so
+     * nothing is lost or repeated. No lock is held while reading.
+     *
+     * @param missed reads the events after the given id in increasing order,
+     *               or returns null when there are too many to resume from; the
+     *               client then gets a {@value #RESET} event instead
+     */
+    public SseEmitter subscribe(Long lastEventId, LongFunction<List<Event>> missed) {
+        SseEmitter emitter = new SseEmitter(this.timeoutMs);
+        emitter.onCompletion(() -> this.remove(emitter));
+        emitter.onError(e -> this.remove(emitter));
+        synchronized (this) {
+            this.emitters.add(emitter);
+            if (lastEventId != null) {
+                this.held.put(emitter, new ArrayList<>());
+            }
+        }
+        if (lastEventId == null) {
+            return emitter;
+        }
+        List<Event> events;
+        try {
+            events = missed.apply(lastEventId);
+        } catch (RuntimeException e) {
+            this.remove(emitter);
+            throw e;
+        }
+        long sent = lastEventId;
+        if (events == null) {
+            log.debug("Cannot resume subscriber from event: {}, sending reset", lastEventId);
+            this.send(emitter, SseEmitter.event().name(RESET).data(""));
+        } else {
+            for (Event event : events) {
+                this.send(emitter, event.toSse());
+                sent = Math.max(sent, event.id);
+            }
+        }
+        while (true) {
+            List<Event> heldEvents;
+            synchronized (this) {
+                heldEvents = this.held.remove(emitter);
+                if (heldEvents == null || heldEvents.isEmpty()) {
+                    return emitter;
+                }
+                this.held.put(emitter, new ArrayList<>());
+            }
+            for (Event event : heldEvents) {
+                if (event.id > sent) {
+                    this.send(emitter, event.toSse());
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends a comment to every subscriber, which keeps proxies from closing
+     * idle connections and detects the clients that went away.
+     */
+    public void heartbeat() {
+        for (SseEmitter emitter : new ArrayList<>(this.emitters)) {
+            this.send(emitter, SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    public int getSubscribers() {
+        return this.emitters.size();
+    }
+
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping event stream subscriber: {}", e.getMessage());
+            this.remove(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private synchronized void remove(SseEmitter emitter) {
+        this.emitters.remove(emitter);
+        this.held.remove(emitter);
+    }
+
+    public static final class Event {
+        private final long id;
+        private final String name;
+        private final String data;
+
+        public Event(long id, String name, String data) {
+            this.id = id;
+            this.name = name;
+            this.data = data;
+        }
+
+        private SseEmitter.SseEventBuilder toSse() {
+            return SseEmitter.event().id(Long.toString(this.id)).name(this.name).data(this.data);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.banquito.core.common.web;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Response for an exception that carries an error code: an empty body with
+ * the HTTP status the code maps to.
+ *
+ * Codes below 500 are HTTP statuses and are answered as they are. Codes from
+ * 500 up are the services' own failure codes, such as 510 for a create that
+ * failed, and are not meant for clients; the status is chosen from the cause
+ * instead: 409 for a duplicate key, 400 for any other rejected data and 500
+ * otherwise.
+ *
+ * Client errors are logged at debug level without a stack trace; server
+ * errors are logged as errors with the cause.
+ *
+ * Each service declares the exception handler for its own exception type
+ * and delegates here.
+ */
+@Slf4j
+public final class ErrorCodeResponse {
+
+    private ErrorCodeResponse() {
+    }
+
+    public static ResponseEntity<Void> of(int errorCode, Exception e) {
+        HttpStatus status = status(errorCode, e);
+        if (status.is5xxServerError()) {
+            log.error("Request failed with status {} (error code {}): {}", status.value(), errorCode, e.getMessage(),
+                    e);
+        } else {
+            log.debug("Request ended with status {} (error code {}): {}", status.value(), errorCode, e.getMessage());
+        }
+        return ResponseEntity.status(status).build();
+    }
+
+    static HttpStatus status(int errorCode, Throwable e) {
+        if (errorCode < 500) {
+            HttpStatus status = HttpStatus.resolve(errorCode);
+            return status == null ? HttpStatus.BAD_REQUEST : status;
+        }
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof DuplicateKeyException) {
+                return HttpStatus.CONFLICT;
+            }
+            if (cause instanceof DataIntegrityViolationException || cause instanceof IllegalArgumentException) {
+                return HttpStatus.BAD_REQUEST;
+            }
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+}
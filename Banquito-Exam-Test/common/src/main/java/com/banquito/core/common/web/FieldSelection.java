@@ -0,0 +1,47 @@
+package com.banquito.core.common.web;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Parses the {@code fields} query parameter of a sparse fieldset request.
+ * Each service reports an invalid selection with its own exception, built
+ * from an error code and a message, such as {@code CRUDException::new}.
+ */
+public final class FieldSelection {
+
+    private FieldSelection() {
+    }
+
+    /**
+     * @return the requested fields, without duplicates and in the order in
+     *         which they are declared in the response
+     * @throws E built with a 400 error code if no field is requested or one
+     *           of them cannot be selected
+     */
+    public static <E extends Exception> List<String> parse(String fields, List<String> selectable,
+            BiFunction<Integer, String, E> invalid) throws E {
+        List<String> requested = new ArrayList<>();
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (!trimmed.isEmpty()) {
+                if (!selectable.contains(trimmed)) {
+                    throw invalid.apply(400, "Field: {" + trimmed + "} cannot be selected, selectable fields are: "
+                            + selectable);
+                }
+                requested.add(trimmed);
+            }
+        }
+        if (requested.isEmpty()) {
+            throw invalid.apply(400, "At least one of the fields " + selectable + " must be selected");
+        }
+        List<String> selected = new ArrayList<>(requested.size());
+        for (String field : selectable) {
+            if (requested.contains(field)) {
+                selected.add(field);
+            }
+        }
+        return selected;
+    }
+}
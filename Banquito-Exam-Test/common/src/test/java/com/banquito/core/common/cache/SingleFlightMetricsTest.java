@@ -0,0 +1,26 @@
+package com.banquito.core.common.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class SingleFlightMetricsTest {
+
+    @Test
+    void testCallsAreCountedByLookup() {
+        SingleFlight<String, String> lookups = new SingleFlight<>();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new SingleFlightMetrics("branch.code", lookups).bindTo(registry);
+
+        lookups.execute("01", () -> "first");
+        lookups.execute("01", () -> "second");
+
+        assertEquals(2.0, registry.get("coalescing.calls").tags("lookup", "branch.code", "result", "leader")
+                .functionCounter().count());
+        assertEquals(0.0, registry.get("coalescing.calls").tags("lookup", "branch.code", "result", "shared")
+                .functionCounter().count());
+        assertEquals(0.0, registry.get("coalescing.inflight").tags("lookup", "branch.code").gauge().value());
+    }
+}
@@ -0,0 +1,117 @@
+package com.banquito.core.common.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SingleFlightTest {
+
+    private SingleFlight<String, String> singleFlight;
+    private CountDownLatch release;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        singleFlight = new SingleFlight<>();
+        release = new CountDownLatch(1);
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    void testConcurrentCallersShareOneLookup() throws Exception {
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(
+                () -> singleFlight.execute("01", blockingLookup(() -> "branch 01")));
+        CompletableFuture<String> follower = startFollower();
+        release.countDown();
+
+        assertEquals("branch 01", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("branch 01", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        assertEquals(1, singleFlight.getLeaders());
+        assertEquals(1, singleFlight.getShared());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void testFollowersGetTheSharedResult() throws Exception {
+        singleFlight = new SingleFlight<>(String::new);
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(
+                () -> singleFlight.execute("01", blockingLookup(() -> "branch 01")));
+        CompletableFuture<String> follower = startFollower();
+        release.countDown();
+
+        String led = leader.get(5, TimeUnit.SECONDS);
+        String followed = follower.get(5, TimeUnit.SECONDS);
+        assertEquals(led, followed);
+        assertNotSame(led, followed);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testFollowersGetTheLeaderException() throws Exception {
+        IllegalStateException failure = new IllegalStateException("database down");
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(
+                () -> singleFlight.execute("01", blockingLookup(() -> {
+                    throw failure;
+                })));
+        CompletableFuture<String> follower = startFollower();
+        release.countDown();
+
+        Exception e = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertSame(failure, e.getCause());
+        assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void testCompletedLookupIsNotReused() {
+        assertEquals("first", singleFlight.execute("01", () -> "first"));
+        assertEquals("second", singleFlight.execute("01", () -> "second"));
+
+        assertEquals(2, singleFlight.getLeaders());
+        assertEquals(0, singleFlight.getShared());
+    }
+
+    @Test
+    void testDifferentKeysDoNotShare() {
+        String nested = singleFlight.execute("01", () -> "01 " + singleFlight.execute("02", () -> "02"));
+
+        assertEquals("01 02", nested);
+        assertEquals(2, singleFlight.getLeaders());
+        assertEquals(0, singleFlight.getShared());
+    }
+
+    private Supplier<String> blockingLookup(Supplier<String> result) {
+        return () -> {
+            calls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result.get();
+        };
+    }
+
+    private CompletableFuture<String> startFollower() throws InterruptedException {
+        while (singleFlight.inFlight() == 0) {
+            Thread.sleep(1);
+        }
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(
+                () -> singleFlight.execute("01", () -> "not shared"));
+        while (singleFlight.getShared() == 0 && !follower.isDone()) {
+            Thread.sleep(1);
+        }
+        return follower;
+    }
+}
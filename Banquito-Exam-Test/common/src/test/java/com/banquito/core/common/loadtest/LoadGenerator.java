@@ -0,0 +1,190 @@
+package com.banquito.core.common.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+/**
+ * Open model load generator: requests are sent at a fixed arrival rate, drawn
+ * from a weighted mix, whether or not earlier ones have completed. Latency is
+ * measured from the time a request was due, not from the time it was actually
+ * sent, so a stalled server or client shows up in the percentiles instead of
+ * silently lowering the rate.
+ */
+public class LoadGenerator {
+
+    private final List<Operation> operations = new ArrayList<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+    private int totalWeight;
+
+    /**
+     * Adds an operation to the mix. The request factory receives a sequence
+     * number unique for the whole run, to build distinct payloads.
+     */
+    public LoadGenerator add(String name, int weight, IntFunction<HttpRequest> request) {
+        this.operations.add(new Operation(name, weight, request));
+        this.totalWeight += weight;
+        return this;
+    }
+
+    public LoadReport run(int ratePerSecond, Duration warmup, Duration duration) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        try {
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(executor)
+                    .connectTimeout(Duration.ofSeconds(5)).build();
+            this.drive(client, ratePerSecond, warmup, null);
+            LoadReport report = new LoadReport(ratePerSecond, duration, this.operations);
+            this.drive(client, ratePerSecond, duration, report);
+            return report;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void drive(HttpClient client, int ratePerSecond, Duration duration, LoadReport report)
+            throws InterruptedException {
+        Random random = new Random(42);
+        Phaser inFlight = new Phaser(1);
+        long interval = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long due = start; due < end; due += interval) {
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = this.pick(random);
+            HttpRequest request = operation.request.apply(this.sequence.getAndIncrement());
+            long dueAt = due;
+            inFlight.register();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                if (report != null) {
+                    report.record(operation.name, System.nanoTime() - dueAt,
+                            error == null && response.statusCode() < 400);
+                }
+                inFlight.arriveAndDeregister();
+            });
+        }
+        try {
+            inFlight.awaitAdvanceInterruptibly(inFlight.arrive(), 30, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Requests still in flight 30 s after the end of the run", e);
+        }
+    }
+
+    private Operation pick(Random random) {
+        int draw = random.nextInt(this.totalWeight);
+        for (Operation operation : this.operations) {
+            draw -= operation.weight;
+            if (draw < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Empty operation mix");
+    }
+
+    private static final class Operation {
+        private final String name;
+        private final int weight;
+        private final IntFunction<HttpRequest> request;
+
+        private Operation(String name, int weight, IntFunction<HttpRequest> request) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+        }
+    }
+
+    /**
+     * Throughput and latency percentiles of the measured part of a run, per
+     * operation and in total.
+     */
+    public static class LoadReport {
+
+        public static final String TOTAL = "total";
+
+        private final int ratePerSecond;
+        private final Duration duration;
+        private final Map<String, Samples> samples = new LinkedHashMap<>();
+
+        private LoadReport(int ratePerSecond, Duration duration, List<Operation> operations) {
+            this.ratePerSecond = ratePerSecond;
+            this.duration = duration;
+            for (Operation operation : operations) {
+                this.samples.put(operation.name, new Samples());
+            }
+            this.samples.put(TOTAL, new Samples());
+        }
+
+        private void record(String operation, long latencyNanos, boolean ok) {
+            this.samples.get(operation).add(latencyNanos, ok);
+            this.samples.get(TOTAL).add(latencyNanos, ok);
+        }
+
+        public long getErrors() {
+            return this.samples.get(TOTAL).errors;
+        }
+
+        public double getThroughput() {
+            return this.samples.get(TOTAL).count / (this.duration.toNanos() / 1e9);
+        }
+
+        public void print(String title) {
+            System.out.printf("%s: %d req/s offered for %d s, %.1f req/s completed%n", title, this.ratePerSecond,
+                    this.duration.toSeconds(), this.getThroughput());
+            System.out.printf("%-24s %8s %7s %9s %9s %9s %9s %9s%n", "operation", "count", "errors", "p50 ms",
+                    "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            this.samples.forEach((name, operation) -> {
+                long[] sorted = operation.sorted();
+                System.out.printf("%-24s %8d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, operation.count,
+                        operation.errors, percentile(sorted, 0.50), percentile(sorted, 0.90),
+                        percentile(sorted, 0.99), percentile(sorted, 0.999), percentile(sorted, 1.0));
+            });
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+
+    private static final class Samples {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        private synchronized void add(long latencyNanos, boolean ok) {
+            if (this.count == this.latencies.length) {
+                this.latencies = Arrays.copyOf(this.latencies, this.count * 2);
+            }
+            this.latencies[this.count++] = latencyNanos;
+            if (!ok) {
+                this.errors++;
+            }
+        }
+
+        private synchronized long[] sorted() {
+            long[] sorted = Arrays.copyOf(this.latencies, this.count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
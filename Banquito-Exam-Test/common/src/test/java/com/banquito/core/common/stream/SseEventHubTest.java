@@ -0,0 +1,131 @@
+package com.banquito.core.common.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.util.List;
+import java.util.function.LongFunction;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public class SseEventHubTest {
+
+    private SseEventHub hub;
+    private StreamController controller;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        hub = new SseEventHub(2, 60000);
+        controller = new StreamController(hub);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void testLiveEventIsPushed() throws Exception {
+        MockHttpServletResponse response = subscribe(null);
+
+        hub.publish(5, "change", "{\"id\":1}");
+
+        String content = response.getContentAsString();
+        assertTrue(content.contains("id:5\nevent:change\ndata:{\"id\":1}"));
+        assertEquals(1, hub.getSubscribers());
+    }
+
+    @Test
+    void testResumeSendsMissedEvents() throws Exception {
+        hub.startAfter(0);
+        hub.publish(1, "change", "a");
+        hub.publish(2, "change", "b");
+
+        String content = subscribe(1L).getContentAsString();
+
+        assertFalse(content.contains("id:1\n"));
+        assertTrue(content.contains("id:2\n"));
+        assertFalse(content.contains("event:" + SseEventHub.RESET));
+    }
+
+    @Test
+    void testResumeBeyondBufferSendsReset() throws Exception {
+        hub.startAfter(0);
+        hub.publish(1, "change", "a");
+        hub.publish(2, "change", "b");
+        hub.publish(3, "change", "c");
+
+        String content = subscribe(0L).getContentAsString();
+
+        assertTrue(content.contains("event:" + SseEventHub.RESET));
+        assertFalse(content.contains("id:2\n"));
+    }
+
+    @Test
+    void testResumeFromStoreHoldsLiveEventsBack() throws Exception {
+        controller.store = lastEventId -> {
+            hub.publish(2, "change", "b");
+            hub.publish(3, "change", "c");
+            return List.of(new SseEventHub.Event(1, "change", "a"), new SseEventHub.Event(2, "change", "b"));
+        };
+
+        MockHttpServletResponse response = subscribe(0L);
+        String content = response.getContentAsString();
+
+        assertTrue(content.indexOf("id:1\n") < content.indexOf("id:2\n"));
+        assertTrue(content.indexOf("id:2\n") < content.indexOf("id:3\n"));
+        assertEquals(content.indexOf("id:2\n"), content.lastIndexOf("id:2\n"));
+
+        hub.publish(4, "change", "d");
+        assertTrue(response.getContentAsString().contains("id:4\n"));
+    }
+
+    @Test
+    void testResumeFromStoreBeyondItsReachSendsReset() throws Exception {
+        controller.store = lastEventId -> null;
+
+        String content = subscribe(0L).getContentAsString();
+
+        assertTrue(content.contains("event:" + SseEventHub.RESET));
+    }
+
+    @Test
+    void testHeartbeat() throws Exception {
+        MockHttpServletResponse response = subscribe(null);
+
+        hub.heartbeat();
+
+        assertTrue(response.getContentAsString().contains(":heartbeat"));
+    }
+
+    private MockHttpServletResponse subscribe(Long lastEventId) throws Exception {
+        return mockMvc.perform(lastEventId == null ? get("/stream")
+                : get("/stream").header("Last-Event-ID", lastEventId))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+    }
+
+    @RestController
+    static class StreamController {
+
+        private final SseEventHub hub;
+        private LongFunction<List<SseEventHub.Event>> store;
+
+        StreamController(SseEventHub hub) {
+            this.hub = hub;
+        }
+
+        @GetMapping("/stream")
+        public SseEmitter stream(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+            return store == null ? hub.subscribe(lastEventId) : hub.subscribe(lastEventId, store);
+        }
+    }
+}
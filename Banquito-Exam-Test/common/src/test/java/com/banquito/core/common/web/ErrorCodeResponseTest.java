@@ -0,0 +1,49 @@
+package com.banquito.core.common.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.ResponseEntity;
+
+public class ErrorCodeResponseTest {
+
+    @Test
+    void testErrorCodeIsStatus() {
+        ResponseEntity<Void> response = ErrorCodeResponse.of(404, new IllegalArgumentException("not found"));
+
+        assertEquals(404, response.getStatusCode().value());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void testFailureWithCause() {
+        ResponseEntity<Void> response = ErrorCodeResponse.of(530,
+                new IllegalStateException("failed", new RuntimeException("database down")));
+
+        assertEquals(500, response.getStatusCode().value());
+    }
+
+    @Test
+    void testDuplicateKeyIsConflict() {
+        ResponseEntity<Void> response = ErrorCodeResponse.of(510,
+                new IllegalStateException("cannot be created", new DuplicateKeyException("E11000 duplicate key")));
+
+        assertEquals(409, response.getStatusCode().value());
+    }
+
+    @Test
+    void testRejectedDataIsBadRequest() {
+        ResponseEntity<Void> response = ErrorCodeResponse.of(510, new IllegalStateException("cannot be created",
+                new RuntimeException(new DataIntegrityViolationException("value too long"))));
+
+        assertEquals(400, response.getStatusCode().value());
+    }
+
+    @Test
+    void testUnknownClientCodeIsBadRequest() {
+        assertEquals(400, ErrorCodeResponse.of(123, new IllegalStateException("failed")).getStatusCode().value());
+    }
+}
@@ -0,0 +1,46 @@
+package com.banquito.core.common.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class FieldSelectionTest {
+
+    private static final List<String> SELECTABLE = List.of("id", "name", "state");
+
+    @Test
+    void testFieldsAreReturnedInDeclarationOrder() throws InvalidSelection {
+        assertEquals(List.of("id", "state"),
+                FieldSelection.parse(" state,id,state ", SELECTABLE, InvalidSelection::new));
+    }
+
+    @Test
+    void testUnknownFieldIsRejected() {
+        InvalidSelection e = assertThrows(InvalidSelection.class,
+                () -> FieldSelection.parse("id,address", SELECTABLE, InvalidSelection::new));
+
+        assertEquals(400, e.errorCode);
+        assertEquals("Field: {address} cannot be selected, selectable fields are: [id, name, state]",
+                e.getMessage());
+    }
+
+    @Test
+    void testNoFieldIsRejected() {
+        InvalidSelection e = assertThrows(InvalidSelection.class,
+                () -> FieldSelection.parse(" , ", SELECTABLE, InvalidSelection::new));
+
+        assertEquals(400, e.errorCode);
+    }
+
+    private static final class InvalidSelection extends Exception {
+        private final int errorCode;
+
+        private InvalidSelection(Integer errorCode, String message) {
+            super(message);
+            this.errorCode = errorCode;
+        }
+    }
+}
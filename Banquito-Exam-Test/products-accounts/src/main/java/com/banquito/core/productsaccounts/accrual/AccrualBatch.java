@@ -0,0 +1,53 @@
+package com.banquito.core.productsaccounts.accrual;
+
+import java.util.Arrays;
+
+/**
+ * Column oriented batch of balances to accrue. Row {@code i} is the account
+ * {@code accounts[i]} holding {@code balancesInCents[i]} under the interest
+ * rate with id {@code rateIds[i]}. Keeping the rows in primitive arrays lets the
+ * accrual loop run without allocating per row.
+ */
+public class AccrualBatch {
+
+    private String[] accounts;
+    private long[] balancesInCents;
+    private int[] rateIds;
+    private int size;
+
+    public AccrualBatch(int expectedSize) {
+        int capacity = Math.max(16, expectedSize);
+        this.accounts = new String[capacity];
+        this.balancesInCents = new long[capacity];
+        this.rateIds = new int[capacity];
+    }
+
+    public void add(String account, long balanceInCents, int rateId) {
+        if (this.size == this.rateIds.length) {
+            int capacity = this.size + (this.size >> 1);
+            this.accounts = Arrays.copyOf(this.accounts, capacity);
+            this.balancesInCents = Arrays.copyOf(this.balancesInCents, capacity);
+            this.rateIds = Arrays.copyOf(this.rateIds, capacity);
+        }
+        this.accounts[this.size] = account;
+        this.balancesInCents[this.size] = balanceInCents;
+        this.rateIds[this.size] = rateId;
+        this.size++;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public String account(int row) {
+        return this.accounts[row];
+    }
+
+    long[] balancesInCents() {
+        return this.balancesInCents;
+    }
+
+    int[] rateIds() {
+        return this.rateIds;
+    }
+}
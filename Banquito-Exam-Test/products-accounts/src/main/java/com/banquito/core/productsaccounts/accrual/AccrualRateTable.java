@@ -0,0 +1,73 @@
+package com.banquito.core.productsaccounts.accrual;
+
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.banquito.core.productsaccounts.cache.InterestRateTimeline;
+import com.banquito.core.productsaccounts.model.InterestRate;
+
+/**
+ * Annual rates in force on an accrual date, converted once to fixed point with
+ * six decimals ({@code 0.0525} is stored as {@code 52500}). Small ids, the
+ * usual case for a serial key, are looked up in an array indexed by id; larger
+ * ones by binary search.
+ */
+public class AccrualRateTable {
+
+    public static final int RATE_SCALE = 6;
+    static final long NOT_FOUND = -1;
+    private static final int MAX_DENSE_ID = 1 << 16;
+
+    private final int[] ids;
+    private final long[] annualRates;
+    private final long[] annualRatesById;
+
+    public AccrualRateTable(List<InterestRate> interestRates, LocalDate accrualDate) {
+        long day = accrualDate.toEpochDay();
+        List<InterestRate> inForce = new ArrayList<>(interestRates.size());
+        for (InterestRate interestRate : interestRates) {
+            if (interestRate.getId() != null && interestRate.getInterestRate() != null
+                    && InterestRateTimeline.isInForce(interestRate, day)) {
+                inForce.add(interestRate);
+            }
+        }
+        inForce.sort(Comparator.comparing(InterestRate::getId));
+        this.ids = new int[inForce.size()];
+        this.annualRates = new long[inForce.size()];
+        for (int i = 0; i < inForce.size(); i++) {
+            this.ids[i] = inForce.get(i).getId();
+            this.annualRates[i] = inForce.get(i).getInterestRate().setScale(RATE_SCALE, RoundingMode.HALF_UP)
+                    .unscaledValue().longValueExact();
+        }
+        int maxId = this.ids.length == 0 ? -1 : this.ids[this.ids.length - 1];
+        if (maxId >= 0 && maxId < MAX_DENSE_ID && this.ids[0] >= 0) {
+            this.annualRatesById = new long[maxId + 1];
+            Arrays.fill(this.annualRatesById, NOT_FOUND);
+            for (int i = 0; i < this.ids.length; i++) {
+                this.annualRatesById[this.ids[i]] = this.annualRates[i];
+            }
+        } else {
+            this.annualRatesById = null;
+        }
+    }
+
+    /**
+     * @return the annual rate with {@link #RATE_SCALE} decimals, or
+     *         {@link #NOT_FOUND} if the rate was not in force
+     */
+    long annualRate(int rateId) {
+        if (this.annualRatesById != null) {
+            return rateId >= 0 && rateId < this.annualRatesById.length ? this.annualRatesById[rateId] : NOT_FOUND;
+        }
+        int index = Arrays.binarySearch(this.ids, rateId);
+        return index < 0 ? NOT_FOUND : this.annualRates[index];
+    }
+
+    public int size() {
+        return this.ids.length;
+    }
+}
@@ -0,0 +1,20 @@
+package com.banquito.core.productsaccounts.accrual;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Daily interest accrued per row of an {@link AccrualBatch}, in millionths of
+ * the currency unit. Rows whose rate was not in force on the accrual date hold
+ * {@link #UNRESOLVED}.
+ */
+@Getter
+@AllArgsConstructor
+public class AccrualResult {
+
+    public static final long UNRESOLVED = -1;
+
+    private final long[] accruedMicros;
+    private final long totalMicros;
+    private final int unresolved;
+}
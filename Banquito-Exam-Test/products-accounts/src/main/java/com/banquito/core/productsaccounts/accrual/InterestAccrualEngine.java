@@ -0,0 +1,114 @@
+package com.banquito.core.productsaccounts.accrual;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Computes the daily interest of every row of an {@link AccrualBatch} in
+ * parallel.
+ *
+ * The batch is split into ranges processed by a fork-join pool. Inside a range
+ * the accrual is pure {@code long} arithmetic over the primitive columns:
+ * balance in cents times the annual rate with {@link AccrualRateTable#RATE_SCALE}
+ * decimals, divided by the days of the year, rounded half up to millionths of
+ * the currency unit. {@link BigDecimal} is only used if the product overflows.
+ */
+public class InterestAccrualEngine {
+
+    public static final int DAYS_IN_YEAR = 365;
+    static final int SPLIT_THRESHOLD = 16_384;
+
+    // cents (1e-2) times the rate (1e-6) gives 1e-8 units per year, so dividing
+    // by the days of the year and by 100 gives micros per day
+    private static final long DIVISOR = DAYS_IN_YEAR * 100L;
+    private static final long HALF_DIVISOR = DIVISOR / 2;
+
+    private final ForkJoinPool pool;
+
+    public InterestAccrualEngine(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public AccrualResult accrue(AccrualBatch batch, AccrualRateTable rates) {
+        long[] accrued = new long[batch.size()];
+        LongAdder total = new LongAdder();
+        LongAdder unresolved = new LongAdder();
+        this.pool.invoke(new AccrualTask(batch.balancesInCents(), batch.rateIds(), rates, accrued, 0, batch.size(),
+                total, unresolved));
+        return new AccrualResult(accrued, total.sum(), unresolved.intValue());
+    }
+
+    static long accrueDaily(long balanceInCents, long annualRate) {
+        if (balanceInCents <= 0 || annualRate <= 0) {
+            return 0;
+        }
+        long product = balanceInCents * annualRate;
+        if (Math.multiplyHigh(balanceInCents, annualRate) != 0 || product < 0) {
+            return BigDecimal.valueOf(balanceInCents).multiply(BigDecimal.valueOf(annualRate))
+                    .divide(BigDecimal.valueOf(DIVISOR), 0, RoundingMode.HALF_UP).longValueExact();
+        }
+        return (product + HALF_DIVISOR) / DIVISOR;
+    }
+
+    private static final class AccrualTask extends RecursiveAction {
+
+        private final long[] balances;
+        private final int[] rateIds;
+        private final AccrualRateTable rates;
+        private final long[] accrued;
+        private final int from;
+        private final int to;
+        private final LongAdder total;
+        private final LongAdder unresolved;
+
+        private AccrualTask(long[] balances, int[] rateIds, AccrualRateTable rates, long[] accrued, int from, int to,
+                LongAdder total, LongAdder unresolved) {
+            this.balances = balances;
+            this.rateIds = rateIds;
+            this.rates = rates;
+            this.accrued = accrued;
+            this.from = from;
+            this.to = to;
+            this.total = total;
+            this.unresolved = unresolved;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from > SPLIT_THRESHOLD) {
+                int middle = (this.from + this.to) >>> 1;
+                invokeAll(new AccrualTask(this.balances, this.rateIds, this.rates, this.accrued, this.from, middle,
+                        this.total, this.unresolved),
+                        new AccrualTask(this.balances, this.rateIds, this.rates, this.accrued, middle, this.to,
+                                this.total, this.unresolved));
+                return;
+            }
+            long sum = 0;
+            int missing = 0;
+            int lastRateId = 0;
+            long lastRate = AccrualRateTable.NOT_FOUND;
+            boolean cached = false;
+            for (int i = this.from; i < this.to; i++) {
+                int rateId = this.rateIds[i];
+                if (!cached || rateId != lastRateId) {
+                    lastRateId = rateId;
+                    lastRate = this.rates.annualRate(rateId);
+                    cached = true;
+                }
+                if (lastRate == AccrualRateTable.NOT_FOUND) {
+                    this.accrued[i] = AccrualResult.UNRESOLVED;
+                    missing++;
+                } else {
+                    long value = accrueDaily(this.balances[i], lastRate);
+                    this.accrued[i] = value;
+                    sum += value;
+                }
+            }
+            this.total.add(sum);
+            this.unresolved.add(missing);
+        }
+    }
+}
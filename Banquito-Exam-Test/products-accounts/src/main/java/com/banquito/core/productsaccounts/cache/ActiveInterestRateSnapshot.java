@@ -0,0 +1,166 @@
+package com.banquito.core.productsaccounts.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.banquito.core.productsaccounts.controller.dto.InterestRateRQRS;
+import com.banquito.core.productsaccounts.controller.mapper.InterestRateMapper;
+import com.banquito.core.productsaccounts.event.InterestRateChangedEvent;
+import com.banquito.core.productsaccounts.event.InterestRatesImportedEvent;
+import com.banquito.core.productsaccounts.event.InterestRatesInactivatedEvent;
+import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.repository.InterestRateRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Immutable, already mapped list of the active interest rates.
+ *
+ * The list is loaded once and then maintained copy-on-write: every committed
+ * change builds a new list and swaps the reference, so readers never lock nor
+ * touch the database. A periodic reload picks up changes committed by other
+ * instances. Writers take a lock instead of a monitor, because loads wait on
+ * the database and a virtual thread blocked inside a monitor keeps its
+ * carrier.
+ *
+ * Loads read from the primary, in a read-write transaction: a replica that
+ * lags behind would overwrite a change the listeners have just applied with
+ * its older view.
+ */
+@Slf4j
+@Component
+public class ActiveInterestRateSnapshot {
+
+    private static final String ACTIVE = "ACT";
+    private static final Comparator<InterestRateRQRS> BY_ID = Comparator.comparing(InterestRateRQRS::getId,
+            Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final InterestRateRepository repository;
+    private final TransactionTemplate primaryTransaction;
+    private final Lock lock = new ReentrantLock();
+    private volatile List<InterestRateRQRS> actives;
+
+    public ActiveInterestRateSnapshot(InterestRateRepository repository,
+            PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    public List<InterestRateRQRS> get() {
+        List<InterestRateRQRS> current = this.actives;
+        if (current == null) {
+            this.lock.lock();
+            try {
+                current = this.actives;
+                if (current == null) {
+                    current = this.load();
+                }
+            } finally {
+                this.lock.unlock();
+            }
+        }
+        return current;
+    }
+
+    @Scheduled(fixedDelayString = "${banquito.cache.interest-rates.refresh-ms:60000}",
+            initialDelayString = "${banquito.cache.interest-rates.refresh-ms:60000}")
+    public void reload() {
+        this.lock.lock();
+        try {
+            this.load();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInterestRateChanged(InterestRateChangedEvent event) {
+        this.lock.lock();
+        try {
+            if (this.actives == null) {
+                return;
+            }
+            InterestRate interestRate = event.getInterestRate();
+            List<InterestRateRQRS> next = new ArrayList<>(this.actives.size() + 1);
+            for (InterestRateRQRS active : this.actives) {
+                if (!active.getId().equals(interestRate.getId())) {
+                    next.add(active);
+                }
+            }
+            if (ACTIVE.equals(interestRate.getState())) {
+                next.add(InterestRateMapper.mapToInterestRateRQRS(interestRate));
+                next.sort(BY_ID);
+            }
+            this.actives = List.copyOf(next);
+            log.debug("Active interest rates snapshot updated after {} of id: {}, {} actives", event.getType(),
+                    interestRate.getId(), next.size());
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInterestRatesImported(InterestRatesImportedEvent event) {
+        this.lock.lock();
+        try {
+            if (this.actives == null) {
+                return;
+            }
+            List<InterestRateRQRS> next = new ArrayList<>(this.actives.size() + event.getInterestRates().size());
+            next.addAll(this.actives);
+            for (InterestRate interestRate : event.getInterestRates()) {
+                if (ACTIVE.equals(interestRate.getState())) {
+                    next.add(InterestRateMapper.mapToInterestRateRQRS(interestRate));
+                }
+            }
+            next.sort(BY_ID);
+            this.actives = List.copyOf(next);
+            log.debug("Active interest rates snapshot updated after import of {} rates, {} actives",
+                    event.getInterestRates().size(), next.size());
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInterestRatesInactivated(InterestRatesInactivatedEvent event) {
+        this.lock.lock();
+        try {
+            if (this.actives == null) {
+                return;
+            }
+            Set<Integer> ids = new HashSet<>(event.getIds());
+            List<InterestRateRQRS> next = new ArrayList<>(this.actives.size());
+            for (InterestRateRQRS active : this.actives) {
+                if (!ids.contains(active.getId())) {
+                    next.add(active);
+                }
+            }
+            this.actives = List.copyOf(next);
+            log.debug("Active interest rates snapshot updated after inactivation of {} rates, {} actives", ids.size(),
+                    next.size());
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private List<InterestRateRQRS> load() {
+        List<InterestRateRQRS> loaded = new ArrayList<>(
+                this.primaryTransaction.execute(status -> this.repository.findRQRSByState(ACTIVE)));
+        loaded.sort(BY_ID);
+        this.actives = List.copyOf(loaded);
+        log.debug("Active interest rates snapshot loaded with {} records", loaded.size());
+        return this.actives;
+    }
+}
@@ -0,0 +1,283 @@
+package com.banquito.core.productsaccounts.cache;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.banquito.core.productsaccounts.event.InterestRateChangedEvent;
+import com.banquito.core.productsaccounts.event.InterestRatesImportedEvent;
+import com.banquito.core.productsaccounts.event.InterestRatesInactivatedEvent;
+import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.repository.InterestRateRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory index of the validity periods of every interest rate, active and
+ * inactive, grouped by rate name.
+ *
+ * For each name the overlapping periods are flattened into a partition of the
+ * time line: sorted breakpoints, each with the rate in force from it up to the
+ * next one. The rate in force on a given day is then found with a single
+ * binary search instead of a database query.
+ *
+ * The index is rebuilt on a background thread and swapped in once complete,
+ * after every committed change and periodically to pick up changes made by
+ * other instances; readers keep using the previous index meanwhile. Only a
+ * read arriving before the first build has completed waits for it.
+ */
+@Slf4j
+@Component
+public class InterestRateTimeline {
+
+    private static final long OPEN_END = Long.MAX_VALUE;
+
+    private final InterestRateRepository repository;
+    private final Executor rebuildExecutor;
+    private final AtomicReference<CompletableFuture<Void>> pendingRebuild = new AtomicReference<>();
+    private volatile Map<String, Periods> index;
+
+    @Autowired
+    public InterestRateTimeline(InterestRateRepository repository) {
+        this(repository, Executors.newSingleThreadExecutor(new CustomizableThreadFactory("interest-rate-timeline-")));
+    }
+
+    /**
+     * @param rebuildExecutor runs the rebuilds; a single thread keeps them in
+     *                        order, so the last one swapped in is the newest
+     */
+    public InterestRateTimeline(InterestRateRepository repository, Executor rebuildExecutor) {
+        this.repository = repository;
+        this.rebuildExecutor = rebuildExecutor;
+    }
+
+    @PostConstruct
+    public void start() {
+        this.rebuild();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (this.rebuildExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * @return the rate with the given name in force on the given day, or null
+     *         if there is none. If several periods overlap the one that
+     *         started last wins.
+     */
+    public InterestRate findEffective(String name, LocalDate date) {
+        Periods periods = this.index().get(name);
+        return periods == null ? null : periods.findEffective(date.toEpochDay());
+    }
+
+    /**
+     * @return for every rate name, the rate in force on the given day
+     */
+    public List<InterestRate> findAllEffective(LocalDate date) {
+        long day = date.toEpochDay();
+        List<InterestRate> effective = new ArrayList<>();
+        for (Periods periods : this.index().values()) {
+            InterestRate interestRate = periods.findEffective(day);
+            if (interestRate != null) {
+                effective.add(interestRate);
+            }
+        }
+        effective.sort(Comparator.comparing(InterestRate::getName));
+        return effective;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInterestRateChanged(InterestRateChangedEvent event) {
+        this.rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInterestRatesImported(InterestRatesImportedEvent event) {
+        this.rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInterestRatesInactivated(InterestRatesInactivatedEvent event) {
+        this.rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${banquito.cache.interest-rates.refresh-ms:60000}",
+            initialDelayString = "${banquito.cache.interest-rates.refresh-ms:60000}")
+    public void reload() {
+        this.rebuild();
+    }
+
+    /**
+     * Queues a rebuild, unless one is already queued and not yet started: that
+     * one will read every change committed so far.
+     */
+    private CompletableFuture<Void> rebuild() {
+        while (true) {
+            CompletableFuture<Void> pending = this.pendingRebuild.get();
+            if (pending != null) {
+                return pending;
+            }
+            CompletableFuture<Void> next = new CompletableFuture<>();
+            if (this.pendingRebuild.compareAndSet(null, next)) {
+                this.rebuildExecutor.execute(() -> {
+                    this.pendingRebuild.compareAndSet(next, null);
+                    try {
+                        this.index = this.build();
+                        next.complete(null);
+                    } catch (RuntimeException e) {
+                        log.error("Interest rate timeline could not be rebuilt: {}", e.getMessage(), e);
+                        next.completeExceptionally(e);
+                    }
+                });
+                return next;
+            }
+        }
+    }
+
+    private Map<String, Periods> index() {
+        Map<String, Periods> current = this.index;
+        while (current == null) {
+            try {
+                this.rebuild().join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+            current = this.index;
+        }
+        return current;
+    }
+
+    private Map<String, Periods> build() {
+        Map<String, List<InterestRate>> byName = new HashMap<>();
+        List<InterestRate> interestRates = this.repository.findAll();
+        for (InterestRate interestRate : interestRates) {
+            if (interestRate.getStart() != null) {
+                byName.computeIfAbsent(interestRate.getName(), k -> new ArrayList<>()).add(interestRate);
+            }
+        }
+        Map<String, Periods> built = new HashMap<>(byName.size() * 2);
+        byName.forEach((name, rates) -> built.put(name, new Periods(rates)));
+        log.debug("Interest rate timeline built with {} rates and {} names", interestRates.size(), built.size());
+        return built;
+    }
+
+    /**
+     * The in-force rule shared by every reader of the rates: a rate is in
+     * force from its start day to its end day, both included, or forever if it
+     * has no end. A rate without start is never in force.
+     */
+    public static boolean isInForce(InterestRate interestRate, long day) {
+        return interestRate.getStart() != null && toEpochDay(interestRate.getStart()) <= day
+                && endDay(interestRate) >= day;
+    }
+
+    private static long endDay(InterestRate interestRate) {
+        return interestRate.getEnd() == null ? OPEN_END : toEpochDay(interestRate.getEnd());
+    }
+
+    public static long toEpochDay(Date date) {
+        if (date instanceof java.sql.Date) {
+            return ((java.sql.Date) date).toLocalDate().toEpochDay();
+        }
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+    }
+
+    private static final class Periods {
+
+        private final long[] froms;
+        private final InterestRate[] rates;
+
+        /**
+         * Sweeps the breakpoints, the days on which a period starts or the day
+         * after one ends, in order. The periods started so far are kept in a
+         * heap with the one that started last on top; those already ended are
+         * dropped when they reach the top. Consecutive breakpoints with the
+         * same rate are merged.
+         */
+        private Periods(List<InterestRate> unsorted) {
+            InterestRate[] sorted = unsorted.toArray(new InterestRate[0]);
+            Arrays.sort(sorted, Comparator.comparingLong((InterestRate r) -> toEpochDay(r.getStart()))
+                    .thenComparing(InterestRate::getId, Comparator.nullsFirst(Comparator.naturalOrder())));
+            long[] starts = new long[sorted.length];
+            long[] ends = new long[sorted.length];
+            long[] breakpoints = new long[sorted.length * 2];
+            int count = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                starts[i] = toEpochDay(sorted[i].getStart());
+                ends[i] = endDay(sorted[i]);
+                breakpoints[count++] = starts[i];
+                if (ends[i] != OPEN_END) {
+                    breakpoints[count++] = ends[i] + 1;
+                }
+            }
+            Arrays.sort(breakpoints, 0, count);
+
+            long[] froms = new long[count];
+            InterestRate[] rates = new InterestRate[count];
+            int size = 0;
+            PriorityQueue<Integer> started = new PriorityQueue<>(Comparator.reverseOrder());
+            int next = 0;
+            for (int b = 0; b < count; b++) {
+                long day = breakpoints[b];
+                if (b > 0 && day == breakpoints[b - 1]) {
+                    continue;
+                }
+                while (next < sorted.length && starts[next] <= day) {
+                    started.add(next++);
+                }
+                while (!started.isEmpty() && !isInForce(sorted[started.peek()], day)) {
+                    started.poll();
+                }
+                InterestRate effective = started.isEmpty() ? null : sorted[started.peek()];
+                if (size == 0 ? effective != null : rates[size - 1] != effective) {
+                    froms[size] = day;
+                    rates[size] = effective;
+                    size++;
+                }
+            }
+            this.froms = Arrays.copyOf(froms, size);
+            this.rates = Arrays.copyOf(rates, size);
+        }
+
+        private InterestRate findEffective(long day) {
+            int low = 0;
+            int high = this.froms.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (this.froms[mid] <= day) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high < 0 ? null : this.rates[high];
+        }
+    }
+}
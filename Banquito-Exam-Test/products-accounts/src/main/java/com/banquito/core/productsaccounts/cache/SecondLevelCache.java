@@ -0,0 +1,91 @@
+package com.banquito.core.productsaccounts.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.banquito.core.productsaccounts.controller.dto.CacheRegionStatisticsRS;
+import com.banquito.core.productsaccounts.controller.dto.CacheStatisticsRS;
+import com.banquito.core.productsaccounts.event.InterestRateChangedEvent;
+import com.banquito.core.productsaccounts.event.InterestRatesInactivatedEvent;
+import com.banquito.core.productsaccounts.model.InterestRate;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the Hibernate second-level cache coherent with the writes Hibernate
+ * does not see, and reports its statistics.
+ *
+ * Interest rates are updated and inactivated with native UPDATE ... RETURNING
+ * statements, which bypass the entity and query cache invalidation of the
+ * session; the affected entries are evicted here once the transaction has
+ * committed.
+ */
+@Slf4j
+@Component
+public class SecondLevelCache {
+
+    private final SessionFactory sessionFactory;
+
+    public SecondLevelCache(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInterestRateChanged(InterestRateChangedEvent event) {
+        if (event.getType() != InterestRateChangedEvent.Type.CREATED) {
+            this.evictInterestRates(List.of(event.getInterestRate().getId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInterestRatesInactivated(InterestRatesInactivatedEvent event) {
+        this.evictInterestRates(event.getIds());
+    }
+
+    public CacheStatisticsRS statistics() {
+        Statistics statistics = this.sessionFactory.getStatistics();
+        List<CacheRegionStatisticsRS> regions = new ArrayList<>();
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+        for (String regionName : regionNames) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                regions.add(CacheRegionStatisticsRS.builder()
+                        .region(regionName)
+                        .hitCount(region.getHitCount())
+                        .missCount(region.getMissCount())
+                        .putCount(region.getPutCount())
+                        .hitRatio(ratio(region.getHitCount(), region.getMissCount()))
+                        .build());
+            }
+        }
+        return CacheStatisticsRS.builder()
+                .enabled(statistics.isStatisticsEnabled())
+                .entityHitRatio(ratio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount()))
+                .queryHitRatio(ratio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()))
+                .regions(regions)
+                .build();
+    }
+
+    private void evictInterestRates(List<Integer> ids) {
+        org.hibernate.Cache cache = this.sessionFactory.getCache();
+        for (Integer id : ids) {
+            cache.evictEntityData(InterestRate.class, id);
+        }
+        cache.evictDefaultQueryRegion();
+        log.debug("Evicted {} interest rates and the cached queries from the second-level cache", ids.size());
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
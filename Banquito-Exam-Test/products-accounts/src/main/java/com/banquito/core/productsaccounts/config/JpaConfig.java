@@ -0,0 +1,73 @@
+package com.banquito.core.productsaccounts.config;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Hibernate settings for bulk writes: inserts and updates are sent in JDBC
+ * batches, ordered by entity so that a batch is not broken by interleaved
+ * statements, and sequence values are handed out in blocks by the pooled-lo
+ * optimizer. The PostgreSQL driver is asked to rewrite each batch as a single
+ * multi-row insert.
+ *
+ * The read-mostly catalogue entities are kept in a second-level cache backed
+ * by Caffeine through JCache; the regions are bounded in application.conf.
+ *
+ * Open-in-view is turned off in jpa.properties, so that each transaction
+ * gets its own connection and read-only ones can be routed to the replica.
+ */
+@Configuration
+@PropertySource("classpath:jpa.properties")
+public class JpaConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer batchingHibernatePropertiesCustomizer(
+            @Value("${banquito.jpa.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+            properties.putIfAbsent(AvailableSettings.BATCH_VERSIONED_DATA, true);
+            properties.putIfAbsent(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo");
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheHibernatePropertiesCustomizer(
+            @Value("${banquito.jpa.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${banquito.jpa.statistics.enabled:true}") boolean statisticsEnabled) {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.USE_SECOND_LEVEL_CACHE, cacheEnabled);
+            properties.putIfAbsent(AvailableSettings.USE_QUERY_CACHE, cacheEnabled);
+            properties.putIfAbsent(AvailableSettings.GENERATE_STATISTICS, statisticsEnabled);
+            if (cacheEnabled) {
+                properties.putIfAbsent(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+                properties.putIfAbsent(ConfigSettings.PROVIDER,
+                        "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider");
+                properties.putIfAbsent(ConfigSettings.MISSING_CACHE_STRATEGY, "create");
+            }
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor rewriteBatchedInsertsPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource && dataSource.getJdbcUrl() != null
+                        && dataSource.getJdbcUrl().startsWith("jdbc:postgresql:")) {
+                    dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package com.banquito.core.productsaccounts.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+import com.banquito.core.common.cache.SingleFlightMetrics;
+import com.banquito.core.productsaccounts.service.InterestRateService;
+import com.banquito.core.productsaccounts.service.ProductAccountService;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Metrics exposed in Prometheus format at /actuator/prometheus. Endpoint and
+ * repository method timers, Hikari pool gauges and Hibernate statistics,
+ * including the hits and misses of every second-level cache region, are
+ * registered by Spring Boot; percentiles and histogram buckets default to
+ * metrics.properties. Lookups by id are coalesced; their coalescing ratio is
+ * {@code coalescing_calls_total{result="shared"}} over all calls.
+ */
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+
+    public static final String PRODUCT_ACCOUNT_BY_ID = "product-account.id";
+    public static final String INTEREST_RATE_BY_ID = "interest-rate.id";
+
+    @Bean
+    public MeterBinder productAccountLookupCoalescingMetrics(ProductAccountService productAccountService) {
+        return new SingleFlightMetrics(PRODUCT_ACCOUNT_BY_ID, productAccountService.getIdLookups());
+    }
+
+    @Bean
+    public MeterBinder interestRateLookupCoalescingMetrics(InterestRateService interestRateService) {
+        return new SingleFlightMetrics(INTEREST_RATE_BY_ID, interestRateService.getIdLookups());
+    }
+}
@@ -0,0 +1,36 @@
+package com.banquito.core.productsaccounts.config;
+
+/**
+ * Remembers, for the request being served by the current thread, whether it
+ * has already written to the primary. Once it has, the rest of the request
+ * reads from the primary too, so it never misses its own writes because of
+ * replica lag.
+ *
+ * Outside a request (for example in scheduled tasks) nothing is remembered and
+ * read-only work always goes to the replica.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static void begin() {
+        PINNED_TO_PRIMARY.set(Boolean.FALSE);
+    }
+
+    public static void end() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    public static void pinToPrimary() {
+        if (PINNED_TO_PRIMARY.get() != null) {
+            PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        }
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED_TO_PRIMARY.get());
+    }
+}
@@ -0,0 +1,28 @@
+package com.banquito.core.productsaccounts.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends the connections of read-only transactions to the replica and every
+ * other connection to the primary. It must be wrapped in a
+ * LazyConnectionDataSourceProxy so the connection is chosen when the first
+ * statement runs, after the transaction has been flagged as read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return ReplicaRoutingContext.isPinnedToPrimary() ? Route.PRIMARY : Route.REPLICA;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            ReplicaRoutingContext.pinToPrimary();
+        }
+        return Route.PRIMARY;
+    }
+}
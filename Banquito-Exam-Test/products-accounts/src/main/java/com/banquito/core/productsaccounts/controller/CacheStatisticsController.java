@@ -0,0 +1,29 @@
+package com.banquito.core.productsaccounts.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.banquito.core.productsaccounts.cache.SecondLevelCache;
+import com.banquito.core.productsaccounts.controller.dto.CacheStatisticsRS;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/cache")
+public class CacheStatisticsController {
+
+    private final SecondLevelCache secondLevelCache;
+
+    public CacheStatisticsController(SecondLevelCache secondLevelCache) {
+        this.secondLevelCache = secondLevelCache;
+    }
+
+    @GetMapping("/statistics")
+    public ResponseEntity<CacheStatisticsRS> obtainStatistics() {
+        log.info("Going to return second-level cache statistics");
+        return ResponseEntity.ok(this.secondLevelCache.statistics());
+    }
+}
@@ -1,7 +1,11 @@
 package com.banquito.core.productsaccounts.controller;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,14 +13,24 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.banquito.core.common.web.FieldSelection;
+import com.banquito.core.productsaccounts.cache.ActiveInterestRateSnapshot;
+import com.banquito.core.productsaccounts.controller.dto.InterestRateChangesRS;
+import com.banquito.core.productsaccounts.controller.dto.InterestRatePageRS;
 import com.banquito.core.productsaccounts.controller.dto.InterestRateRQRS;
 import com.banquito.core.productsaccounts.controller.mapper.InterestRateMapper;
 import com.banquito.core.productsaccounts.exception.CRUDException;
 import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.service.InterestRateChanges;
+import com.banquito.core.productsaccounts.service.InterestRatePage;
 import com.banquito.core.productsaccounts.service.InterestRateService;
+import com.banquito.core.productsaccounts.stream.InterestRateEventStream;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,17 +40,82 @@ import lombok.extern.slf4j.Slf4j;
 public class InterestRateController {
     
     private final InterestRateService service;
+    private final ActiveInterestRateSnapshot activeInterestRates;
+    private final InterestRateEventStream eventStream;
 
-    public InterestRateController(InterestRateService service) {
+    public InterestRateController(InterestRateService service, ActiveInterestRateSnapshot activeInterestRates,
+            InterestRateEventStream eventStream) {
         this.service = service;
+        this.activeInterestRates = activeInterestRates;
+        this.eventStream = eventStream;
     }
 
     @GetMapping
     public ResponseEntity<List<InterestRateRQRS>> obtainAll() {
         log.info("Going to return all active interest rates");
-        List<InterestRate> interestRates = this.service.listAllActives();
+        List<InterestRateRQRS> interestRates = this.activeInterestRates.get();
         log.info("Returning {} active interest rates", interestRates.size());
-        return ResponseEntity.ok(InterestRateMapper.mapToList(interestRates)); 
+        return ResponseEntity.ok(interestRates); 
+    }
+
+    @GetMapping(params = { "fields", "!limit" })
+    public ResponseEntity<List<Map<String, Object>>> obtainAllFields(@RequestParam(name = "fields") String fields) {
+        log.info("Going to return fields: {} of all active interest rates", fields);
+        List<Map<String, Object>> interestRates = InterestRateMapper.mapToFieldList(this.activeInterestRates.get(),
+                FieldSelection.parse(fields, InterestRateMapper.FIELDS, CRUDException::new));
+        log.info("Returning {} active interest rates", interestRates.size());
+        return ResponseEntity.ok(interestRates);
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<InterestRatePageRS> obtainPage(@RequestParam(name = "limit") int limit,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "sort", defaultValue = InterestRateService.SORT_BY_ID) String sort) {
+        log.info("Going to return a page of {} active interest rates", limit);
+        InterestRatePage page = this.service.listActivesPage(after, limit, sort);
+        return ResponseEntity.ok(InterestRatePageRS.builder()
+                .interestRates(InterestRateMapper.mapToList(page.getInterestRates()))
+                .next(page.getNext()).build());
+    }
+
+    /**
+     * Pages carry full rows; a field selection would otherwise be ignored.
+     */
+    @GetMapping(params = { "fields", "limit" })
+    public ResponseEntity<InterestRatePageRS> obtainPageFields() {
+        throw new CRUDException(400, "The fields parameter cannot be combined with limit");
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<InterestRateChangesRS> obtainChanges(
+            @RequestParam(name = "since", required = false) String since,
+            @RequestParam(name = "limit", defaultValue = "" + InterestRateService.MAX_PAGE_SIZE) int limit) {
+        log.info("Going to return interest rate changes since: {}", since);
+        InterestRateChanges changes = this.service.listChanges(since, limit);
+        return ResponseEntity.ok(InterestRateChangesRS.builder()
+                .interestRates(InterestRateMapper.mapToList(changes.getInterestRates()))
+                .next(changes.getNext())
+                .more(changes.isMore()).build());
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        log.info("Going to stream interest rate changes after event: {}", lastEventId);
+        return this.eventStream.subscribe(lastEventId);
+    }
+
+    @GetMapping("/effective")
+    public ResponseEntity<List<InterestRateRQRS>> obtainAllEffective(
+            @RequestParam(name = "date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        log.info("Going to return all interest rates in force on: {}", date);
+        return ResponseEntity.ok(InterestRateMapper.mapToList(this.service.listEffective(date)));
+    }
+
+    @GetMapping(value = "/effective", params = "name")
+    public ResponseEntity<InterestRateRQRS> obtainEffective(@RequestParam(name = "name") String name,
+            @RequestParam(name = "date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        log.info("Going to find interest rate: {} in force on: {}", name, date);
+        return ResponseEntity.ok(InterestRateMapper.mapToInterestRateRQRS(this.service.obtainEffective(name, date)));
     }
 
     @GetMapping("/{id}")
@@ -52,35 +131,37 @@ public class InterestRateController {
 
     @PostMapping
     public ResponseEntity<?> create(@RequestBody InterestRateRQRS interestrate) {
-        try {
-            log.info("Going to create a interest rate with info: {}", interestrate);
-            this.service.create(InterestRateMapper.mapToInterestRate(interestrate));
-            return ResponseEntity.ok().build();
-        } catch (CRUDException e) {
-            log.error("Error at create interest rate: {}", e.getMessage(), e);
-            return ResponseEntity.badRequest().build();
-        }
+        log.info("Going to create a interest rate with name: {}", interestrate.getName());
+        this.service.create(InterestRateMapper.mapToInterestRate(interestrate));
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<List<InterestRateRQRS>> createBulk(@RequestBody List<InterestRateRQRS> interestRates) {
+        log.info("Going to create {} interest rates", interestRates.size());
+        return ResponseEntity.ok(InterestRateMapper.mapToList(
+                this.service.createAll(InterestRateMapper.mapToInterestRateList(interestRates))));
     }
 
     @PutMapping("/{id}")
     public  ResponseEntity<InterestRateRQRS> update(@PathVariable(name="id") String id, @RequestBody InterestRateRQRS interestrate) {
-        try {
-            this.service.update(Integer.parseInt(id), InterestRateMapper.mapToInterestRate(interestrate));
-            return ResponseEntity.ok(InterestRateMapper.mapToInterestRateRQRS(this.service.obtainById(Integer.parseInt(id))));
-        } catch (CRUDException e){
-            log.error("Error at update interest rate: {}", e.getMessage(), e);
-            return ResponseEntity.status(e.getErrorCode()).build();
-        }
+        InterestRate updated = this.service.update(Integer.parseInt(id), InterestRateMapper.mapToInterestRate(interestrate));
+        return ResponseEntity.ok(InterestRateMapper.mapToInterestRateRQRS(updated));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> delete(@PathVariable(name="id") String id) {
-        try {
-            this.service.inactivate(Integer.parseInt(id));
-            return ResponseEntity.ok().build();
-        } catch (CRUDException e){
-            log.error("Error at delete interest rate: {}", e.getMessage(), e);
-            return ResponseEntity.status(e.getErrorCode()).build();
-        }
+        this.service.inactivate(Integer.parseInt(id));
+        return ResponseEntity.ok().build();
+    }
+
+    @DeleteMapping(params = "ids")
+    public ResponseEntity<List<Integer>> deleteAll(@RequestParam(name = "ids") List<Integer> ids) {
+        return ResponseEntity.ok(this.service.inactivateAll(ids));
+    }
+
+    @DeleteMapping(params = "namePrefix")
+    public ResponseEntity<List<Integer>> deleteAllByNamePrefix(@RequestParam(name = "namePrefix") String namePrefix) {
+        return ResponseEntity.ok(this.service.inactivateAllByNamePrefix(namePrefix));
     }
 }
@@ -1,6 +1,7 @@
 package com.banquito.core.productsaccounts.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,12 +9,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.banquito.core.common.web.FieldSelection;
+import com.banquito.core.productsaccounts.controller.dto.ProductAccountPageRS;
 import com.banquito.core.productsaccounts.controller.dto.ProductAccountRQRS;
 import com.banquito.core.productsaccounts.controller.mapper.ProductAccountMapper;
 import com.banquito.core.productsaccounts.exception.CRUDException;
 import com.banquito.core.productsaccounts.model.ProductAccount;
+import com.banquito.core.productsaccounts.service.ProductAccountPage;
 import com.banquito.core.productsaccounts.service.ProductAccountService;
 
 import lombok.extern.slf4j.Slf4j;
@@ -32,9 +37,37 @@ public class ProductAccountController {
     @GetMapping
     public ResponseEntity<List<ProductAccountRQRS>> obtainAll() {
         log.info("Going to return all active products accounts");
-        List<ProductAccount> productAccounts = this.service.listAllActives();
+        List<ProductAccountRQRS> productAccounts = this.service.listAllActivesRQRS();
         log.info("Returning {} active products accounts", productAccounts.size());
-        return ResponseEntity.ok(ProductAccountMapper.mapToList(productAccounts)); 
+        return ResponseEntity.ok(productAccounts); 
+    }
+
+    @GetMapping(params = { "fields", "!limit" })
+    public ResponseEntity<List<Map<String, Object>>> obtainAllFields(@RequestParam(name = "fields") String fields) {
+        log.info("Going to return fields: {} of all active products accounts", fields);
+        List<Map<String, Object>> productAccounts = this.service.listAllActivesFields(
+                FieldSelection.parse(fields, ProductAccountMapper.FIELDS, CRUDException::new));
+        log.info("Returning {} active products accounts", productAccounts.size());
+        return ResponseEntity.ok(productAccounts);
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<ProductAccountPageRS> obtainPage(@RequestParam(name = "limit") int limit,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "sort", defaultValue = ProductAccountService.SORT_BY_ID) String sort) {
+        log.info("Going to return a page of {} active products accounts", limit);
+        ProductAccountPage page = this.service.listActivesPage(after, limit, sort);
+        return ResponseEntity.ok(ProductAccountPageRS.builder()
+                .productAccounts(ProductAccountMapper.mapToList(page.getProductAccounts()))
+                .next(page.getNext()).build());
+    }
+
+    /**
+     * Pages carry full rows; a field selection would otherwise be ignored.
+     */
+    @GetMapping(params = { "fields", "limit" })
+    public ResponseEntity<ProductAccountPageRS> obtainPageFields() {
+        throw new CRUDException(400, "The fields parameter cannot be combined with limit");
     }
 
     @GetMapping("/{id}")
@@ -50,13 +83,15 @@ public class ProductAccountController {
 
     @PostMapping
     public ResponseEntity<?> create(@RequestBody ProductAccountRQRS productAccount) {
-        try {
-            log.info("Going to create a product account with info: {}", productAccount);
-            this.service.create(ProductAccountMapper.mapToProductAccount(productAccount));
-            return ResponseEntity.ok().build();
-        } catch (CRUDException e) {
-            log.error("Error at create product account: {}", e.getMessage(), e);
-            return ResponseEntity.badRequest().build();
-        }
+        log.info("Going to create a product account with id: {}", productAccount.getId());
+        this.service.create(ProductAccountMapper.mapToProductAccount(productAccount));
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<List<ProductAccountRQRS>> createBulk(@RequestBody List<ProductAccountRQRS> productAccounts) {
+        log.info("Going to create {} product accounts", productAccounts.size());
+        return ResponseEntity.ok(ProductAccountMapper.mapToList(
+                this.service.createAll(ProductAccountMapper.mapToProductAccountList(productAccounts))));
     }
 }
@@ -0,0 +1,21 @@
+package com.banquito.core.productsaccounts.controller.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheStatisticsRS {
+
+    private boolean enabled;
+    private double entityHitRatio;
+    private double queryHitRatio;
+    private List<CacheRegionStatisticsRS> regions;
+
+}
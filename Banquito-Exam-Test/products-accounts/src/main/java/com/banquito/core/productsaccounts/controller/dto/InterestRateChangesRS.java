@@ -0,0 +1,20 @@
+package com.banquito.core.productsaccounts.controller.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class InterestRateChangesRS {
+
+    private List<InterestRateRQRS> interestRates;
+    private String next;
+    private Boolean more;
+
+}
@@ -0,0 +1,19 @@
+package com.banquito.core.productsaccounts.controller.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class InterestRatePageRS {
+
+    private List<InterestRateRQRS> interestRates;
+    private String next;
+
+}
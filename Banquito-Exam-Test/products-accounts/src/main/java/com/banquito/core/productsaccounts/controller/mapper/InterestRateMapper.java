@@ -1,12 +1,28 @@
 package com.banquito.core.productsaccounts.controller.mapper;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 import com.banquito.core.productsaccounts.controller.dto.InterestRateRQRS;
 import com.banquito.core.productsaccounts.model.InterestRate;
 
 public class InterestRateMapper {
+
+    private static final Map<String, Function<InterestRateRQRS, Object>> ACCESSORS = new LinkedHashMap<>();
+
+    static {
+        ACCESSORS.put("id", InterestRateRQRS::getId);
+        ACCESSORS.put("name", InterestRateRQRS::getName);
+        ACCESSORS.put("interestRate", InterestRateRQRS::getInterestRate);
+        ACCESSORS.put("state", InterestRateRQRS::getState);
+        ACCESSORS.put("start", InterestRateRQRS::getStart);
+        ACCESSORS.put("end", InterestRateRQRS::getEnd);
+    }
+
+    public static final List<String> FIELDS = List.copyOf(ACCESSORS.keySet());
     
     public static InterestRateRQRS mapToInterestRateRQRS(InterestRate interestRate) {
         return InterestRateRQRS.builder()
@@ -38,4 +54,24 @@ public class InterestRateMapper {
         interestRate.setState(interestRateRQRS.getState());
         return interestRate;
     }
+
+    public static List<InterestRate> mapToInterestRateList(List<InterestRateRQRS> interestRatesRQRS) {
+        List<InterestRate> interestRates = new ArrayList<>(interestRatesRQRS.size());
+        for (InterestRateRQRS interestRateRQRS : interestRatesRQRS) {
+            interestRates.add(mapToInterestRate(interestRateRQRS));
+        }
+        return interestRates;
+    }
+
+    public static List<Map<String, Object>> mapToFieldList(List<InterestRateRQRS> interestRatesRQRS, List<String> fields) {
+        List<Map<String, Object>> rows = new ArrayList<>(interestRatesRQRS.size());
+        for (InterestRateRQRS interestRateRQRS : interestRatesRQRS) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                row.put(field, ACCESSORS.get(field).apply(interestRateRQRS));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
 }
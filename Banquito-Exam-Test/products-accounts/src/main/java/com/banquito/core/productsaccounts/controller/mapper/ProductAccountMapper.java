@@ -7,6 +7,9 @@ import com.banquito.core.productsaccounts.controller.dto.ProductAccountRQRS;
 import com.banquito.core.productsaccounts.model.ProductAccount;
 
 public class ProductAccountMapper {
+
+    public static final List<String> FIELDS = List.of("id", "name", "description", "minimunBalance", "payInterest",
+            "acceptsChecks", "state");
     
     public static ProductAccountRQRS mapToProductAccountRQRS(ProductAccount productAccount) {
         return ProductAccountRQRS.builder()
@@ -41,4 +44,12 @@ public class ProductAccountMapper {
         productAccount.setPayInterest(productAccountRQRS.getPayInterest());
         return productAccount;
     }
+
+    public static List<ProductAccount> mapToProductAccountList(List<ProductAccountRQRS> productAccountsRQRS) {
+        List<ProductAccount> productAccounts = new ArrayList<>(productAccountsRQRS.size());
+        for (ProductAccountRQRS productAccountRQRS : productAccountsRQRS) {
+            productAccounts.add(mapToProductAccount(productAccountRQRS));
+        }
+        return productAccounts;
+    }
 }
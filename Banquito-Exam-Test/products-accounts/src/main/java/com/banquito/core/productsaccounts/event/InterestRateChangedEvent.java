@@ -0,0 +1,18 @@
+package com.banquito.core.productsaccounts.event;
+
+import com.banquito.core.productsaccounts.model.InterestRate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class InterestRateChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, INACTIVATED
+    }
+
+    private final Type type;
+    private final InterestRate interestRate;
+}
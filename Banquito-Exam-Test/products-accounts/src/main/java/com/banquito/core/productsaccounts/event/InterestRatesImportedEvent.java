@@ -0,0 +1,15 @@
+package com.banquito.core.productsaccounts.event;
+
+import java.util.List;
+
+import com.banquito.core.productsaccounts.model.InterestRate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class InterestRatesImportedEvent {
+
+    private final List<InterestRate> interestRates;
+}
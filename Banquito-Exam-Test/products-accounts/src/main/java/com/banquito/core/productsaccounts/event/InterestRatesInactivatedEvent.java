@@ -0,0 +1,13 @@
+package com.banquito.core.productsaccounts.event;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class InterestRatesInactivatedEvent {
+
+    private final List<Integer> ids;
+}
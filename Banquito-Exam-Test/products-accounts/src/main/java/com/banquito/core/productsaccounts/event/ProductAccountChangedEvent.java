@@ -0,0 +1,18 @@
+package com.banquito.core.productsaccounts.event;
+
+import com.banquito.core.productsaccounts.model.ProductAccount;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductAccountChangedEvent {
+
+    public enum Type {
+        CREATED
+    }
+
+    private final Type type;
+    private final ProductAccount productAccount;
+}
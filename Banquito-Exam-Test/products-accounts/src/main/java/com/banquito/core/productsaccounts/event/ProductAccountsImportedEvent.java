@@ -0,0 +1,15 @@
+package com.banquito.core.productsaccounts.event;
+
+import java.util.List;
+
+import com.banquito.core.productsaccounts.model.ProductAccount;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductAccountsImportedEvent {
+
+    private final List<ProductAccount> productAccounts;
+}
@@ -1,15 +1,22 @@
 package com.banquito.core.productsaccounts.exception;
 
+/**
+ * Outcome of a CRUD operation that could not be completed, with the HTTP
+ * status it maps to. Without a cause it reports an expected outcome, such as
+ * a missing record or an invalid argument, and no stack trace is captured:
+ * filling it in is most of the cost of throwing and nobody reads it. With a
+ * cause it wraps a real failure and keeps the full stack trace.
+ */
 public class CRUDException extends RuntimeException{
 
     private final Integer errorCode;
     
     public CRUDException(Integer errorCode) {
-        this.errorCode = errorCode;
+        this(errorCode, null);
     }
 
     public CRUDException(Integer errorCode, String arg0) {
-        super(arg0);
+        super(arg0, null, false, false);
         this.errorCode = errorCode;
     }
 
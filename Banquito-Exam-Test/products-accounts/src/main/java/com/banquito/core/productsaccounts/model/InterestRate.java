@@ -3,11 +3,16 @@ package com.banquito.core.productsaccounts.model;
 import java.math.BigDecimal;
 import java.util.Date;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
@@ -15,13 +20,16 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "interest-rate")
 @Table(name = "INTEREST_RATE")
 @Data
 @NoArgsConstructor
 public class InterestRate {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "INTEREST_RATE_SEQ")
+    @SequenceGenerator(name = "INTEREST_RATE_SEQ", sequenceName = "INTEREST_RATE_SEQ", allocationSize = 50)
     @Column(name = "ID_INTEREST_RATE", nullable = false)
     private Integer id;
     @Column(name = "NAME", length = 50, nullable = false)
@@ -36,5 +44,21 @@ public class InterestRate {
     @Temporal(TemporalType.DATE)
     @Column(name = "END_DATE", nullable = true)
     private Date end;
+    @Column(name = "CHANGE_SEQ", insertable = false, updatable = false)
+    private Long changeSeq;
+
+    /**
+     * A detached copy, so that a rate handed to several callers is not changed
+     * by one of them under the others.
+     */
+    public InterestRate(InterestRate other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.interestRate = other.interestRate;
+        this.state = other.state;
+        this.start = other.start == null ? null : new Date(other.start.getTime());
+        this.end = other.end == null ? null : new Date(other.end.getTime());
+        this.changeSeq = other.changeSeq;
+    }
 
 }
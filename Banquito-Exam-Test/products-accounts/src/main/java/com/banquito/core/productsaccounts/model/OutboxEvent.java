@@ -0,0 +1,43 @@
+package com.banquito.core.productsaccounts.model;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "OUTBOX_EVENT")
+@Data
+@NoArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "OUTBOX_EVENT_SEQ")
+    @SequenceGenerator(name = "OUTBOX_EVENT_SEQ", sequenceName = "OUTBOX_EVENT_SEQ", allocationSize = 50)
+    @Column(name = "ID_OUTBOX_EVENT", nullable = false)
+    private Long id;
+    @Column(name = "AGGREGATE_TYPE", length = 32, nullable = false)
+    private String aggregateType;
+    @Column(name = "AGGREGATE_ID", length = 32, nullable = false)
+    private String aggregateId;
+    @Column(name = "EVENT_TYPE", length = 16, nullable = false)
+    private String eventType;
+    @Column(name = "PAYLOAD", length = 2000, nullable = false)
+    private String payload;
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "CREATED_AT", nullable = false)
+    private Date createdAt;
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "PUBLISHED_AT", nullable = true)
+    private Date publishedAt;
+
+}
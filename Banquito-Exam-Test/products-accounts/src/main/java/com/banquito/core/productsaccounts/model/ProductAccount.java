@@ -3,20 +3,35 @@ package com.banquito.core.productsaccounts.model;
 import java.math.BigDecimal;
 import java.util.Date;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product-account")
 @Table(name = "PRODUCT_ACCOUNT")
 @Data
 @NoArgsConstructor
-public class ProductAccount {
+public class ProductAccount implements Persistable<String> {
     
     @Id
     @Column(name = "ID_PRODUCT_ACCOUNT", nullable = false)
@@ -36,4 +51,44 @@ public class ProductAccount {
     @Temporal(TemporalType.TIMESTAMP)
     @Column(name = "CREATION_DATE", nullable = false)
     private Date creationDate;
+
+    /**
+     * The id is assigned by the client, so Spring Data cannot tell a new
+     * product account from an existing one and would merge it, issuing a
+     * select before every insert. Entities are new until persisted or loaded.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean persisted;
+
+    /**
+     * A detached copy, so that a product account handed to several callers is
+     * not changed by one of them under the others. The copy of a persisted
+     * product account is not new.
+     */
+    public ProductAccount(ProductAccount other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.description = other.description;
+        this.minimunBalance = other.minimunBalance;
+        this.payInterest = other.payInterest;
+        this.acceptsChecks = other.acceptsChecks;
+        this.state = other.state;
+        this.creationDate = other.creationDate == null ? null : new Date(other.creationDate.getTime());
+        this.persisted = other.persisted;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !this.persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
 }
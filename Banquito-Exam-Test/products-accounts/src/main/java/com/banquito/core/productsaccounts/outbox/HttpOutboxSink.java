@@ -0,0 +1,71 @@
+package com.banquito.core.productsaccounts.outbox;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import com.banquito.core.productsaccounts.model.OutboxEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Posts every batch as a JSON array to {@code banquito.outbox.sink.url}. Any
+ * 2xx answer acknowledges the batch; any other answer, or no answer within
+ * the timeout, fails it.
+ */
+@Component
+@ConditionalOnProperty(name = "banquito.outbox.sink.url")
+public class HttpOutboxSink implements OutboxSink {
+
+    private final RestClient restClient;
+    private final ObjectMapper objectMapper;
+
+    public HttpOutboxSink(RestClient.Builder restClientBuilder, ObjectMapper objectMapper,
+            @Value("${banquito.outbox.sink.url}") String url,
+            @Value("${banquito.outbox.sink.timeout-ms:5000}") int timeoutMs) {
+        this(restClientBuilder.baseUrl(url).requestFactory(requestFactory(timeoutMs)).build(), objectMapper);
+    }
+
+    HttpOutboxSink(RestClient restClient, ObjectMapper objectMapper) {
+        this.restClient = restClient;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void send(List<OutboxEvent> events) {
+        this.restClient.post().contentType(MediaType.APPLICATION_JSON).body(this.body(events)).retrieve()
+                .toBodilessEntity();
+    }
+
+    private ArrayNode body(List<OutboxEvent> events) {
+        ArrayNode body = this.objectMapper.createArrayNode();
+        for (OutboxEvent event : events) {
+            ObjectNode node = body.addObject();
+            node.put("id", event.getId());
+            node.put("aggregateType", event.getAggregateType());
+            node.put("aggregateId", event.getAggregateId());
+            node.put("eventType", event.getEventType());
+            node.put("createdAt", event.getCreatedAt().getTime());
+            try {
+                node.set("payload", this.objectMapper.readTree(event.getPayload()));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Outbox payload cannot be read for event " + event.getId(), e);
+            }
+        }
+        return body;
+    }
+
+    private static SimpleClientHttpRequestFactory requestFactory(int timeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMs);
+        requestFactory.setReadTimeout(timeoutMs);
+        return requestFactory;
+    }
+}
@@ -0,0 +1,87 @@
+package com.banquito.core.productsaccounts.outbox;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.banquito.core.productsaccounts.model.OutboxEvent;
+import com.banquito.core.productsaccounts.repository.OutboxEventRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains the outbox in batches and sends each batch, in id order, to the
+ * {@link OutboxSink}. Every batch is locked with SKIP LOCKED, sent and marked
+ * as published in its own transaction, so several instances can run the
+ * relay side by side; a batch the sink does not acknowledge is left
+ * unpublished and sent again on the next round. Published events are kept
+ * for a while and then deleted.
+ *
+ * The relay runs only when a sink is configured. Without one nothing marks
+ * or deletes the outbox rows, which are then left for an external reader
+ * such as a change data capture connector.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "banquito.outbox.sink.url")
+public class OutboxRelay {
+
+    private final OutboxEventRepository repository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long retentionMs;
+
+    public OutboxRelay(OutboxEventRepository repository, OutboxSink sink,
+            PlatformTransactionManager transactionManager,
+            @Value("${banquito.outbox.relay.batch-size:200}") int batchSize,
+            @Value("${banquito.outbox.retention-ms:86400000}") long retentionMs) {
+        this.repository = repository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retentionMs = retentionMs;
+    }
+
+    @Scheduled(fixedDelayString = "${banquito.outbox.relay.interval-ms:1000}")
+    public void relay() {
+        int relayed;
+        do {
+            try {
+                relayed = this.transactionTemplate.execute(status -> this.relayBatch());
+            } catch (RuntimeException e) {
+                log.warn("Outbox batch not relayed, it will be sent again: {}", e.getMessage());
+                return;
+            }
+        } while (relayed == this.batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${banquito.outbox.purge-interval-ms:3600000}")
+    public void purge() {
+        Integer deleted = this.transactionTemplate.execute(status -> this.repository
+                .deletePublishedBefore(new Date(System.currentTimeMillis() - this.retentionMs)));
+        log.debug("{} published outbox events deleted", deleted);
+    }
+
+    int relayBatch() {
+        List<OutboxEvent> events = this.repository.lockUnpublished(this.batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        this.sink.send(events);
+        List<Long> ids = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            ids.add(event.getId());
+        }
+        this.repository.markPublished(ids, new Date());
+        log.debug("{} outbox events relayed, last id: {}", events.size(), ids.get(ids.size() - 1));
+        return events.size();
+    }
+}
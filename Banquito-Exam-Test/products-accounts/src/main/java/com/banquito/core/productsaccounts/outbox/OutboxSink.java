@@ -0,0 +1,16 @@
+package com.banquito.core.productsaccounts.outbox;
+
+import java.util.List;
+
+import com.banquito.core.productsaccounts.model.OutboxEvent;
+
+/**
+ * Where the relay delivers outbox events. {@link #send(List)} returns only
+ * once the receiver has acknowledged the whole batch and throws otherwise;
+ * the batch then stays unpublished and is sent again, so delivery is at
+ * least once.
+ */
+public interface OutboxSink {
+
+    void send(List<OutboxEvent> events);
+}
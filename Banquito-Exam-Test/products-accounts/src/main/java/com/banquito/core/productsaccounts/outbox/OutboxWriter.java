@@ -0,0 +1,108 @@
+package com.banquito.core.productsaccounts.outbox;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.banquito.core.productsaccounts.controller.mapper.InterestRateMapper;
+import com.banquito.core.productsaccounts.controller.mapper.ProductAccountMapper;
+import com.banquito.core.productsaccounts.event.InterestRateChangedEvent;
+import com.banquito.core.productsaccounts.event.InterestRatesImportedEvent;
+import com.banquito.core.productsaccounts.event.InterestRatesInactivatedEvent;
+import com.banquito.core.productsaccounts.event.ProductAccountChangedEvent;
+import com.banquito.core.productsaccounts.event.ProductAccountsImportedEvent;
+import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.model.OutboxEvent;
+import com.banquito.core.productsaccounts.model.ProductAccount;
+import com.banquito.core.productsaccounts.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes a row to the outbox for every interest rate and product account
+ * change. The rows are inserted just before the transaction that made the
+ * change commits, so either both are stored or neither is. Events published
+ * outside a transaction are not recorded.
+ */
+@Component
+public class OutboxWriter {
+
+    public static final String INTEREST_RATE = "InterestRate";
+    public static final String PRODUCT_ACCOUNT = "ProductAccount";
+
+    private final OutboxEventRepository repository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(OutboxEventRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onInterestRateChanged(InterestRateChangedEvent event) {
+        this.repository.save(this.interestRateEvent(event.getType().name(), event.getInterestRate()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onInterestRatesImported(InterestRatesImportedEvent event) {
+        List<OutboxEvent> events = new ArrayList<>(event.getInterestRates().size());
+        for (InterestRate interestRate : event.getInterestRates()) {
+            events.add(this.interestRateEvent(InterestRateChangedEvent.Type.CREATED.name(), interestRate));
+        }
+        this.repository.saveAll(events);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onInterestRatesInactivated(InterestRatesInactivatedEvent event) {
+        List<OutboxEvent> events = new ArrayList<>(event.getIds().size());
+        for (Integer id : event.getIds()) {
+            events.add(this.outboxEvent(INTEREST_RATE, id.toString(), InterestRateChangedEvent.Type.INACTIVATED.name(),
+                    Map.of("id", id, "state", "INA")));
+        }
+        this.repository.saveAll(events);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onProductAccountChanged(ProductAccountChangedEvent event) {
+        this.repository.save(this.productAccountEvent(event.getType().name(), event.getProductAccount()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onProductAccountsImported(ProductAccountsImportedEvent event) {
+        List<OutboxEvent> events = new ArrayList<>(event.getProductAccounts().size());
+        for (ProductAccount productAccount : event.getProductAccounts()) {
+            events.add(this.productAccountEvent(ProductAccountChangedEvent.Type.CREATED.name(), productAccount));
+        }
+        this.repository.saveAll(events);
+    }
+
+    private OutboxEvent interestRateEvent(String eventType, InterestRate interestRate) {
+        return this.outboxEvent(INTEREST_RATE, String.valueOf(interestRate.getId()), eventType,
+                InterestRateMapper.mapToInterestRateRQRS(interestRate));
+    }
+
+    private OutboxEvent productAccountEvent(String eventType, ProductAccount productAccount) {
+        return this.outboxEvent(PRODUCT_ACCOUNT, productAccount.getId(), eventType,
+                ProductAccountMapper.mapToProductAccountRQRS(productAccount));
+    }
+
+    private OutboxEvent outboxEvent(String aggregateType, String aggregateId, String eventType, Object payload) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setAggregateType(aggregateType);
+        outboxEvent.setAggregateId(aggregateId);
+        outboxEvent.setEventType(eventType);
+        try {
+            outboxEvent.setPayload(this.objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Outbox payload cannot be written for " + aggregateType + " "
+                    + aggregateId, e);
+        }
+        outboxEvent.setCreatedAt(new Date());
+        return outboxEvent;
+    }
+}
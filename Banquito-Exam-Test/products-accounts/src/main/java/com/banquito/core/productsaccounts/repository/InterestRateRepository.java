@@ -1,12 +1,78 @@
 package com.banquito.core.productsaccounts.repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.QueryHint;
+
+import com.banquito.core.productsaccounts.controller.dto.InterestRateRQRS;
 import com.banquito.core.productsaccounts.model.InterestRate;
 
 public interface InterestRateRepository extends JpaRepository<InterestRate, Integer>{
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<InterestRate> findByState(String state);
+
+    /**
+     * Selects straight into the response DTO: no managed entities, no
+     * dirty-checking snapshots and no mapping step.
+     */
+    @Query("select new com.banquito.core.productsaccounts.controller.dto.InterestRateRQRS("
+            + "r.id, r.name, r.interestRate, r.state, r.start, r.end) "
+            + "from InterestRate r where r.state = :state")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<InterestRateRQRS> findRQRSByState(@Param("state") String state);
+
+    List<InterestRate> findByStateOrderByIdAsc(String state, Pageable pageable);
+
+    List<InterestRate> findByStateAndIdGreaterThanOrderByIdAsc(String state, Integer id, Pageable pageable);
+
+    List<InterestRate> findByStateOrderByNameAscIdAsc(String state, Pageable pageable);
+
+    List<InterestRate> findByChangeSeqGreaterThanOrderByChangeSeqAsc(Long changeSeq, Pageable pageable);
+
+    List<InterestRate> findAllByOrderByChangeSeqDesc(Pageable pageable);
+
+    @Query(value = "SELECT * FROM INTEREST_RATE WHERE STATE = :state AND (NAME, ID_INTEREST_RATE) > (:name, :id) "
+            + "ORDER BY NAME, ID_INTEREST_RATE LIMIT :limit", nativeQuery = true)
+    List<InterestRate> findByStateAfterNameAndId(@Param("state") String state, @Param("name") String name,
+            @Param("id") Integer id, @Param("limit") int limit);
+
+    /*
+     * The following statements change rows and read them back in the same
+     * round trip with RETURNING. They are run as queries, not as @Modifying
+     * updates, because an update can only report the number of rows changed.
+     */
+
+    @Transactional
+    @Query(value = "UPDATE INTEREST_RATE SET NAME = :name, INTEREST_RATE = :interestRate "
+            + "WHERE ID_INTEREST_RATE = :id RETURNING *", nativeQuery = true)
+    Optional<InterestRate> updateNameAndRate(@Param("id") Integer id, @Param("name") String name,
+            @Param("interestRate") BigDecimal interestRate);
+
+    @Transactional
+    @Query(value = "UPDATE INTEREST_RATE SET STATE = 'INA', END_DATE = CURRENT_DATE "
+            + "WHERE ID_INTEREST_RATE = :id RETURNING *", nativeQuery = true)
+    Optional<InterestRate> inactivateById(@Param("id") Integer id);
+
+    @Transactional
+    @Query(value = "UPDATE INTEREST_RATE SET STATE = 'INA', END_DATE = CURRENT_DATE "
+            + "WHERE STATE = 'ACT' AND ID_INTEREST_RATE IN (:ids) RETURNING ID_INTEREST_RATE", nativeQuery = true)
+    List<Integer> inactivateAllById(@Param("ids") Collection<Integer> ids);
+
+    @Transactional
+    @Query(value = "UPDATE INTEREST_RATE SET STATE = 'INA', END_DATE = CURRENT_DATE "
+            + "WHERE STATE = 'ACT' AND NAME LIKE CONCAT(:namePrefix, '%') RETURNING ID_INTEREST_RATE",
+            nativeQuery = true)
+    List<Integer> inactivateAllByNamePrefix(@Param("namePrefix") String namePrefix);
 }
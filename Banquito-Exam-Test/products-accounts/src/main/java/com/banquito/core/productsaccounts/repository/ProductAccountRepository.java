@@ -2,11 +2,41 @@ package com.banquito.core.productsaccounts.repository;
 
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
+
+import com.banquito.core.productsaccounts.controller.dto.ProductAccountRQRS;
 import com.banquito.core.productsaccounts.model.ProductAccount;
 
-public interface ProductAccountRepository extends JpaRepository<ProductAccount, String>{
+public interface ProductAccountRepository extends JpaRepository<ProductAccount, String>, ProductAccountRepositoryCustom {
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<ProductAccount> findByState(String state);
+
+    /**
+     * Selects straight into the response DTO: no managed entities, no
+     * dirty-checking snapshots and no mapping step.
+     */
+    @Query("select new com.banquito.core.productsaccounts.controller.dto.ProductAccountRQRS("
+            + "p.id, p.name, p.description, p.minimunBalance, p.payInterest, p.acceptsChecks, p.state) "
+            + "from ProductAccount p where p.state = :state")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<ProductAccountRQRS> findRQRSByState(@Param("state") String state);
+
+    List<ProductAccount> findByStateOrderByIdAsc(String state, Pageable pageable);
+
+    List<ProductAccount> findByStateAndIdGreaterThanOrderByIdAsc(String state, String id, Pageable pageable);
+
+    List<ProductAccount> findByStateOrderByNameAscIdAsc(String state, Pageable pageable);
+
+    @Query(value = "SELECT * FROM PRODUCT_ACCOUNT WHERE STATE = :state AND (NAME, ID_PRODUCT_ACCOUNT) > (:name, :id) "
+            + "ORDER BY NAME, ID_PRODUCT_ACCOUNT LIMIT :limit", nativeQuery = true)
+    List<ProductAccount> findByStateAfterNameAndId(@Param("state") String state, @Param("name") String name,
+            @Param("id") String id, @Param("limit") int limit);
 }
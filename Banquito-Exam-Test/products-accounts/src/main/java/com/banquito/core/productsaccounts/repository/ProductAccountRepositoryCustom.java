@@ -0,0 +1,16 @@
+package com.banquito.core.productsaccounts.repository;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ProductAccountRepositoryCustom {
+
+    /**
+     * Selects only the given attributes of the product accounts in the given
+     * state. The attribute names must have been validated by the caller.
+     *
+     * @return one map per product account, keyed by attribute name in the
+     *         given order
+     */
+    List<Map<String, Object>> findFieldsByState(String state, List<String> fields);
+}
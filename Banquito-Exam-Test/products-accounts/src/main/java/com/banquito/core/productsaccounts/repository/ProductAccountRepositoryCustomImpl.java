@@ -0,0 +1,39 @@
+package com.banquito.core.productsaccounts.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+
+public class ProductAccountRepositoryCustomImpl implements ProductAccountRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    public ProductAccountRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByState(String state, List<String> fields) {
+        StringBuilder jpql = new StringBuilder("select ");
+        for (int i = 0; i < fields.size(); i++) {
+            jpql.append(i == 0 ? "p." : ", p.").append(fields.get(i));
+        }
+        jpql.append(" from ProductAccount p where p.state = :state");
+        List<Tuple> tuples = this.entityManager.createQuery(jpql.toString(), Tuple.class)
+                .setParameter("state", state)
+                .getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                row.put(fields.get(i), tuple.get(i));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,57 @@
+package com.banquito.core.productsaccounts.service;
+
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.banquito.core.productsaccounts.accrual.AccrualBatch;
+import com.banquito.core.productsaccounts.accrual.AccrualRateTable;
+import com.banquito.core.productsaccounts.accrual.AccrualResult;
+import com.banquito.core.productsaccounts.accrual.InterestAccrualEngine;
+import com.banquito.core.productsaccounts.repository.InterestRateRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class InterestAccrualService {
+
+    private final InterestRateRepository repository;
+    private final ForkJoinPool pool;
+    private final InterestAccrualEngine engine;
+
+    public InterestAccrualService(InterestRateRepository repository,
+            @Value("${banquito.accrual.parallelism:0}") int parallelism) {
+        this.repository = repository;
+        this.pool = parallelism > 0 ? new ForkJoinPool(parallelism) : ForkJoinPool.commonPool();
+        this.engine = new InterestAccrualEngine(this.pool);
+    }
+
+    /**
+     * Shuts down the pool created for {@code banquito.accrual.parallelism};
+     * the common pool is left alone.
+     */
+    @PreDestroy
+    public void stop() {
+        if (this.pool != ForkJoinPool.commonPool()) {
+            this.pool.shutdown();
+        }
+    }
+
+    /**
+     * Computes the interest accrued on the given date by every balance of the
+     * batch, using the rates, active or inactive, that were in force that day.
+     */
+    public AccrualResult accrue(AccrualBatch batch, LocalDate accrualDate) {
+        log.info("Going to accrue interest of {} balances for: {}", batch.size(), accrualDate);
+        long started = System.nanoTime();
+        AccrualRateTable rates = new AccrualRateTable(this.repository.findAll(), accrualDate);
+        AccrualResult result = this.engine.accrue(batch, rates);
+        log.info("Accrued {} micros over {} balances in {} ms, {} balances without rate in force", result.getTotalMicros(),
+                batch.size(), (System.nanoTime() - started) / 1_000_000, result.getUnresolved());
+        return result;
+    }
+}
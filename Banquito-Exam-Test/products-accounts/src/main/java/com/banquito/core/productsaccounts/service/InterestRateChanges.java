@@ -0,0 +1,17 @@
+package com.banquito.core.productsaccounts.service;
+
+import java.util.List;
+
+import com.banquito.core.productsaccounts.model.InterestRate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class InterestRateChanges {
+
+    private final List<InterestRate> interestRates;
+    private final String next;
+    private final boolean more;
+}
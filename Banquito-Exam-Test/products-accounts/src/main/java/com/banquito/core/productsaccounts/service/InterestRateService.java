@@ -1,11 +1,21 @@
 package com.banquito.core.productsaccounts.service;
 
-import java.util.Date;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.banquito.core.common.cache.SingleFlight;
+import com.banquito.core.productsaccounts.cache.InterestRateTimeline;
+import com.banquito.core.productsaccounts.config.ReplicaRoutingContext;
+import com.banquito.core.productsaccounts.event.InterestRateChangedEvent;
+import com.banquito.core.productsaccounts.event.InterestRatesImportedEvent;
+import com.banquito.core.productsaccounts.event.InterestRatesInactivatedEvent;
 import com.banquito.core.productsaccounts.exception.CRUDException;
 import com.banquito.core.productsaccounts.model.InterestRate;
 import com.banquito.core.productsaccounts.repository.InterestRateRepository;
@@ -16,12 +26,25 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class InterestRateService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final String SORT_BY_ID = "id";
+    public static final String SORT_BY_NAME = "name";
+    public static final String CHANGES = "changes";
+
     private final InterestRateRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InterestRateTimeline timeline;
+    private final SingleFlight<Integer, Optional<InterestRate>> idLookups = new SingleFlight<>(
+            interestRate -> interestRate.map(InterestRate::new));
 
-    public InterestRateService(InterestRateRepository repository) {
+    public InterestRateService(InterestRateRepository repository, ApplicationEventPublisher eventPublisher,
+            InterestRateTimeline timeline) {
         this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.timeline = timeline;
     }
 
+    @Transactional(readOnly = true)
     public List<InterestRate> listAllActives() {
         log.info("Obtaining all active interest rate records");
         List<InterestRate> rates = this.repository.findByState("ACT");
@@ -29,9 +52,80 @@ public class InterestRateService {
         return rates;
     }
 
+    /**
+     * Returns a page of active interest rates sorted by id or by name. The
+     * next page starts after the last row of this one, so its cost does not
+     * grow with the number of pages already read.
+     */
+    @Transactional(readOnly = true)
+    public InterestRatePage listActivesPage(String after, int limit, String sort) throws CRUDException {
+        log.info("Obtaining a page of {} active interest rates sorted by {} after token: {}", limit, sort, after);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new CRUDException(400, "Page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        boolean first = after == null || after.isEmpty();
+        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+        List<InterestRate> interestRates;
+        if (SORT_BY_ID.equals(sort)) {
+            interestRates = first
+                    ? this.repository.findByStateOrderByIdAsc("ACT", pageRequest)
+                    : this.repository.findByStateAndIdGreaterThanOrderByIdAsc("ACT",
+                            tokenId(after, PageToken.decode(after, sort, 1)[1]), pageRequest);
+        } else if (SORT_BY_NAME.equals(sort)) {
+            if (first) {
+                interestRates = this.repository.findByStateOrderByNameAscIdAsc("ACT", pageRequest);
+            } else {
+                String[] token = PageToken.decode(after, sort, 2);
+                interestRates = this.repository.findByStateAfterNameAndId("ACT", token[2], tokenId(after, token[1]),
+                        limit + 1);
+            }
+        } else {
+            throw new CRUDException(400, "Interest Rates cannot be sorted by: {" + sort + "}");
+        }
+        if (interestRates.size() <= limit) {
+            return new InterestRatePage(interestRates, null);
+        }
+        List<InterestRate> page = interestRates.subList(0, limit);
+        InterestRate last = page.get(limit - 1);
+        return new InterestRatePage(page, SORT_BY_ID.equals(sort)
+                ? PageToken.encode(sort, last.getId().toString())
+                : PageToken.encode(sort, last.getId().toString(), last.getName()));
+    }
+
+    /**
+     * Returns the interest rates created, updated or inactivated after the
+     * given change token, oldest change first, with the token to ask for the
+     * following changes. Without a token every interest rate, active or not,
+     * is returned, so a client can build its mirror from scratch.
+     */
+    @Transactional(readOnly = true)
+    public InterestRateChanges listChanges(String since, int limit) throws CRUDException {
+        log.info("Obtaining {} interest rate changes since token: {}", limit, since);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new CRUDException(400, "Page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        long sinceSeq = since == null || since.isEmpty() ? 0L
+                : tokenSeq(since, PageToken.decode(since, CHANGES, 1)[1]);
+        List<InterestRate> interestRates = this.repository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(sinceSeq,
+                PageRequest.of(0, limit + 1));
+        boolean more = interestRates.size() > limit;
+        List<InterestRate> changes = more ? interestRates.subList(0, limit) : interestRates;
+        long lastSeq = changes.isEmpty() ? sinceSeq : changes.get(changes.size() - 1).getChangeSeq();
+        log.debug("Returning {} interest rate changes up to change: {}", changes.size(), lastSeq);
+        return new InterestRateChanges(changes, PageToken.encode(CHANGES, Long.toString(lastSeq)), more);
+    }
+
+    /**
+     * Concurrent lookups of the same id share one repository call, unless this
+     * request has written and must read its own write from the primary. Not
+     * transactional, so that callers waiting for a shared call do not hold a
+     * connection.
+     */
     public InterestRate obtainById(Integer id) {
         log.info("Looking interest rate by id: {}", id);
-        Optional<InterestRate> interestRateOpt = this.repository.findById(id);
+        Optional<InterestRate> interestRateOpt = ReplicaRoutingContext.isPinnedToPrimary()
+                ? this.repository.findById(id)
+                : this.idLookups.execute(id, () -> this.repository.findById(id));
         if (!interestRateOpt.isPresent()) {
             throw new CRUDException(404, "Interest Rate with id: {" + id + "} does not exist");
         } else {
@@ -39,52 +133,178 @@ public class InterestRateService {
         }
     }
 
+    public InterestRate obtainEffective(String name, LocalDate date) {
+        log.info("Looking interest rate: {} in force on: {}", name, date);
+        InterestRate interestRate = this.timeline.findEffective(name, date);
+        if (interestRate == null) {
+            throw new CRUDException(404, "Interest Rate: {" + name + "} was not in force on: {" + date + "}");
+        }
+        return interestRate;
+    }
+
+    public List<InterestRate> listEffective(LocalDate date) {
+        log.info("Obtaining all interest rates in force on: {}", date);
+        return this.timeline.findAllEffective(date);
+    }
+
+    @Transactional
     public void create(InterestRate interestRate) throws CRUDException {
         try {
-            log.info("Creating interest rate with the following info: {}", interestRate);
+            log.info("Creating interest rate with name: {}", interestRate.getName());
+            log.debug("Creating interest rate with the following info: {}", interestRate);
             this.repository.save(interestRate);
+            this.repository.flush();
             log.debug("Interest rate created with the following info: {}", interestRate);
         } catch (Exception e) {
             log.error("Error in interest rate creation: {}, with data: {}", e.getMessage(), interestRate);
             throw new CRUDException(510, "Interest Rate cannot be created, error:" + e.getMessage(), e);
         }
+        this.eventPublisher.publishEvent(new InterestRateChangedEvent(InterestRateChangedEvent.Type.CREATED, interestRate));
+    }
+
+    /**
+     * Creates all the given interest rates in one transaction. Ids come from
+     * the pooled sequence and the inserts are flushed as JDBC batches, so
+     * either every rate is created or none is.
+     */
+    @Transactional
+    public List<InterestRate> createAll(List<InterestRate> interestRates) throws CRUDException {
+        List<InterestRate> created;
+        try {
+            log.info("Creating {} interest rates", interestRates.size());
+            for (InterestRate interestRate : interestRates) {
+                interestRate.setId(null);
+            }
+            created = this.repository.saveAllAndFlush(interestRates);
+            log.debug("{} interest rates created", created.size());
+        } catch (Exception e) {
+            log.error("Error in interest rates creation: {}", e.getMessage());
+            throw new CRUDException(510, "Interest Rates cannot be created, error:" + e.getMessage(), e);
+        }
+        this.eventPublisher.publishEvent(new InterestRatesImportedEvent(created));
+        return created;
     }
 
-    public void update(Integer id, InterestRate interestRate) throws CRUDException {
+    /**
+     * Updates the name and rate with a single UPDATE ... RETURNING statement
+     * and returns the updated interest rate.
+     */
+    @Transactional
+    public InterestRate update(Integer id, InterestRate interestRate) throws CRUDException {
+        Optional<InterestRate> interestRateOpt;
         try {
             log.info("Going to update Interest Rate with id: {} ", id);
             log.debug("Going to update Interest Rate with id: {} with the following data {}", id, interestRate);
-            Optional<InterestRate> interestRateOpt = this.repository.findById(id);
-            if (!interestRateOpt.isPresent()) {
-                throw new CRUDException(404, "Interest Rate with id: {" + id + "} does not exist");
-            }
-            InterestRate interestRateTmp = interestRateOpt.get();
-            interestRateTmp.setName(interestRate.getName());
-            interestRateTmp.setInterestRate(interestRate.getInterestRate());
-            this.repository.save(interestRateTmp);
-            log.debug("Interest Rate with id: {} has been updated with the following info {}", id, interestRateTmp);
+            interestRateOpt = this.repository.updateNameAndRate(id, interestRate.getName(),
+                    interestRate.getInterestRate());
         } catch (Exception e) {
             log.error("Error when try to update Interest Rate: {}, with the following info: {}", e.getMessage(),
                     interestRate);
             throw new CRUDException(520, "Interest Rate cannot be updated, error:" + e.getMessage(), e);
         }
+        if (!interestRateOpt.isPresent()) {
+            throw new CRUDException(404, "Interest Rate with id: {" + id + "} does not exist");
+        }
+        InterestRate interestRateTmp = interestRateOpt.get();
+        log.debug("Interest Rate with id: {} has been updated with the following info {}", id, interestRateTmp);
+        this.eventPublisher.publishEvent(new InterestRateChangedEvent(InterestRateChangedEvent.Type.UPDATED, interestRateTmp));
+        return interestRateTmp;
     }
 
+    @Transactional
     public void inactivate(Integer id) {
+        Optional<InterestRate> interestRateOpt;
         try {
             log.info("Going to inactivate Interest Rate with id: {} ", id);
-            Optional<InterestRate> interestRateOpt = this.repository.findById(id);
-            if (!interestRateOpt.isPresent()) {
-                throw new CRUDException(404, "Interest Rate with id: {" + id + "} does not exist");
-            }
-            InterestRate interestRateTmp = interestRateOpt.get();
-            interestRateTmp.setState("INA");
-            interestRateTmp.setEnd(new Date());
-            this.repository.save(interestRateTmp);
-            log.debug("Interest Rate with id: {} has been inactivated with the following info {}", id, interestRateTmp);
+            interestRateOpt = this.repository.inactivateById(id);
         } catch (Exception e) {
             log.error("Error when try to inactivate Interest Rate: {}, with id: {}", e.getMessage(), id);
             throw new CRUDException(530, "Interest Rate cannot be inactivated, error:" + e.getMessage(), e);
         }
+        if (!interestRateOpt.isPresent()) {
+            throw new CRUDException(404, "Interest Rate with id: {" + id + "} does not exist");
+        }
+        InterestRate interestRateTmp = interestRateOpt.get();
+        log.debug("Interest Rate with id: {} has been inactivated with the following info {}", id, interestRateTmp);
+        this.eventPublisher.publishEvent(new InterestRateChangedEvent(InterestRateChangedEvent.Type.INACTIVATED, interestRateTmp));
+    }
+
+    /**
+     * Inactivates and end-dates, with a single statement, the active interest
+     * rates with the given ids.
+     *
+     * @return the ids of the rates that were inactivated
+     */
+    @Transactional
+    public List<Integer> inactivateAll(Collection<Integer> ids) throws CRUDException {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Integer> inactivated;
+        try {
+            log.info("Going to inactivate {} Interest Rates by id", ids.size());
+            inactivated = this.repository.inactivateAllById(ids);
+            log.debug("Interest Rates with ids: {} have been inactivated", inactivated);
+        } catch (Exception e) {
+            log.error("Error when try to inactivate Interest Rates: {}, with ids: {}", e.getMessage(), ids);
+            throw new CRUDException(530, "Interest Rates cannot be inactivated, error:" + e.getMessage(), e);
+        }
+        this.publishInactivated(inactivated);
+        return inactivated;
+    }
+
+    /**
+     * Inactivates and end-dates, with a single statement, every active
+     * interest rate whose name starts with the given prefix.
+     *
+     * @return the ids of the rates that were inactivated
+     */
+    @Transactional
+    public List<Integer> inactivateAllByNamePrefix(String namePrefix) throws CRUDException {
+        if (namePrefix == null || namePrefix.isEmpty()) {
+            throw new CRUDException(400, "A name prefix is required to inactivate Interest Rates");
+        }
+        List<Integer> inactivated;
+        try {
+            log.info("Going to inactivate Interest Rates with name prefix: {}", namePrefix);
+            inactivated = this.repository.inactivateAllByNamePrefix(escapeLike(namePrefix));
+            log.debug("Interest Rates with ids: {} have been inactivated", inactivated);
+        } catch (Exception e) {
+            log.error("Error when try to inactivate Interest Rates: {}, with name prefix: {}", e.getMessage(),
+                    namePrefix);
+            throw new CRUDException(530, "Interest Rates cannot be inactivated, error:" + e.getMessage(), e);
+        }
+        this.publishInactivated(inactivated);
+        return inactivated;
+    }
+
+    private void publishInactivated(List<Integer> ids) {
+        if (!ids.isEmpty()) {
+            this.eventPublisher.publishEvent(new InterestRatesInactivatedEvent(ids));
+        }
+    }
+
+    private static Integer tokenId(String token, String id) throws CRUDException {
+        try {
+            return Integer.valueOf(id);
+        } catch (NumberFormatException e) {
+            throw new CRUDException(400, "Invalid continuation token: {" + token + "}");
+        }
+    }
+
+    private static long tokenSeq(String token, String seq) throws CRUDException {
+        try {
+            return Long.parseLong(seq);
+        } catch (NumberFormatException e) {
+            throw new CRUDException(400, "Invalid change token: {" + token + "}");
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    public SingleFlight<Integer, Optional<InterestRate>> getIdLookups() {
+        return this.idLookups;
     }
 }
@@ -0,0 +1,38 @@
+package com.banquito.core.productsaccounts.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.banquito.core.productsaccounts.exception.CRUDException;
+
+/**
+ * Opaque continuation token of a keyset page: the sort key followed by the
+ * values of the last row returned, base64url encoded. The last value may
+ * contain the separator, so free text such as a name goes last.
+ */
+final class PageToken {
+
+    private static final String SEPARATOR = "|";
+
+    private PageToken() {
+    }
+
+    static String encode(String... parts) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join(SEPARATOR, parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String[] decode(String token, String sort, int values) throws CRUDException {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR, values + 1);
+        } catch (IllegalArgumentException e) {
+            throw new CRUDException(400, "Invalid continuation token: {" + token + "}");
+        }
+        if (parts.length != values + 1 || !parts[0].equals(sort)) {
+            throw new CRUDException(400, "Invalid continuation token: {" + token + "} for sort: {" + sort + "}");
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,16 @@
+package com.banquito.core.productsaccounts.service;
+
+import java.util.List;
+
+import com.banquito.core.productsaccounts.model.ProductAccount;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductAccountPage {
+
+    private final List<ProductAccount> productAccounts;
+    private final String next;
+}
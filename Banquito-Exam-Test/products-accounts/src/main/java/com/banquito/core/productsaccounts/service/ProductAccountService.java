@@ -2,10 +2,19 @@ package com.banquito.core.productsaccounts.service;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.banquito.core.common.cache.SingleFlight;
+import com.banquito.core.productsaccounts.config.ReplicaRoutingContext;
+import com.banquito.core.productsaccounts.controller.dto.ProductAccountRQRS;
+import com.banquito.core.productsaccounts.event.ProductAccountChangedEvent;
+import com.banquito.core.productsaccounts.event.ProductAccountsImportedEvent;
 import com.banquito.core.productsaccounts.exception.CRUDException;
 import com.banquito.core.productsaccounts.model.ProductAccount;
 import com.banquito.core.productsaccounts.repository.ProductAccountRepository;
@@ -16,12 +25,21 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class ProductAccountService {
     
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final String SORT_BY_ID = "id";
+    public static final String SORT_BY_NAME = "name";
+
     private final ProductAccountRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SingleFlight<String, Optional<ProductAccount>> idLookups = new SingleFlight<>(
+            productAccount -> productAccount.map(ProductAccount::new));
 
-    public ProductAccountService(ProductAccountRepository repository) {
+    public ProductAccountService(ProductAccountRepository repository, ApplicationEventPublisher eventPublisher) {
         this.repository = repository;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional(readOnly = true)
     public List<ProductAccount> listAllActives() {
         log.info("Obtaining all active Products Accounts records");
         List<ProductAccount> rates = this.repository.findByState("ACT");
@@ -29,9 +47,76 @@ public class ProductAccountService {
         return rates;
     }
 
+    @Transactional(readOnly = true)
+    public List<ProductAccountRQRS> listAllActivesRQRS() {
+        log.info("Obtaining all active Products Accounts records as projections");
+        List<ProductAccountRQRS> productAccounts = this.repository.findRQRSByState("ACT");
+        log.debug("Returning {} Products Accounts records", productAccounts.size());
+        return productAccounts;
+    }
+
+    /**
+     * Returns only the given fields of the active product accounts; the
+     * projection is done by the database.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> listAllActivesFields(List<String> fields) {
+        log.info("Obtaining fields: {} of all active Products Accounts records", fields);
+        List<Map<String, Object>> productAccounts = this.repository.findFieldsByState("ACT", fields);
+        log.debug("Returning {} Products Accounts records", productAccounts.size());
+        return productAccounts;
+    }
+
+    /**
+     * Returns a page of active product accounts sorted by id or by name. The
+     * next page starts after the last row of this one, so its cost does not
+     * grow with the number of pages already read.
+     */
+    @Transactional(readOnly = true)
+    public ProductAccountPage listActivesPage(String after, int limit, String sort) throws CRUDException {
+        log.info("Obtaining a page of {} active Products Accounts sorted by {} after token: {}", limit, sort, after);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new CRUDException(400, "Page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        boolean first = after == null || after.isEmpty();
+        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+        List<ProductAccount> productAccounts;
+        if (SORT_BY_ID.equals(sort)) {
+            productAccounts = first
+                    ? this.repository.findByStateOrderByIdAsc("ACT", pageRequest)
+                    : this.repository.findByStateAndIdGreaterThanOrderByIdAsc("ACT",
+                            PageToken.decode(after, sort, 1)[1], pageRequest);
+        } else if (SORT_BY_NAME.equals(sort)) {
+            if (first) {
+                productAccounts = this.repository.findByStateOrderByNameAscIdAsc("ACT", pageRequest);
+            } else {
+                String[] token = PageToken.decode(after, sort, 2);
+                productAccounts = this.repository.findByStateAfterNameAndId("ACT", token[2], token[1], limit + 1);
+            }
+        } else {
+            throw new CRUDException(400, "Product Accounts cannot be sorted by: {" + sort + "}");
+        }
+        if (productAccounts.size() <= limit) {
+            return new ProductAccountPage(productAccounts, null);
+        }
+        List<ProductAccount> page = productAccounts.subList(0, limit);
+        ProductAccount last = page.get(limit - 1);
+        return new ProductAccountPage(page, SORT_BY_ID.equals(sort)
+                ? PageToken.encode(sort, last.getId())
+                : PageToken.encode(sort, last.getId(), last.getName()));
+    }
+
+    /**
+     * Concurrent lookups of the same id share one repository call, unless this
+     * request has written and must read its own write from the primary. Not
+     * transactional, so that callers waiting for a shared call do not hold a
+     * connection; the repository call runs in its own read-only transaction.
+     */
     public ProductAccount obtainById(String id) {
         log.info("Looking Product Account by id: {}", id);
-        Optional<ProductAccount> productAccountOpt = this.repository.findById(id);
+        Optional<ProductAccount> productAccountOpt = ReplicaRoutingContext.isPinnedToPrimary()
+                ? this.repository.findById(id)
+                : this.idLookups.execute(id, () -> this.repository.findById(id));
         if (!productAccountOpt.isPresent()) {
             throw new CRUDException(404, "Product Account with id: {" + id + "} does not exist");
         } else {
@@ -39,15 +124,48 @@ public class ProductAccountService {
         }
     }
 
+    @Transactional
     public void create(ProductAccount productAccount) throws CRUDException {
         try {
-            log.info("Creating Product Account with the following info: {}", productAccount);
+            log.info("Creating Product Account with id: {}", productAccount.getId());
+            log.debug("Creating Product Account with the following info: {}", productAccount);
             productAccount.setCreationDate(new Date());
             this.repository.save(productAccount);
+            this.repository.flush();
             log.debug("Product Account created with the following info: {}", productAccount);
         } catch (Exception e) {
             log.error("Error in Product Account creation: {}, with data: {}", e.getMessage(), productAccount);
             throw new CRUDException(510, "Product Account cannot be created, error:" + e.getMessage(), e);
         }
+        this.eventPublisher.publishEvent(new ProductAccountChangedEvent(ProductAccountChangedEvent.Type.CREATED,
+                productAccount));
+    }
+
+    /**
+     * Creates all the given product accounts in one transaction. The inserts
+     * are flushed as JDBC batches, so either every product account is created
+     * or none is.
+     */
+    @Transactional
+    public List<ProductAccount> createAll(List<ProductAccount> productAccounts) throws CRUDException {
+        List<ProductAccount> created;
+        try {
+            log.info("Creating {} Product Accounts", productAccounts.size());
+            Date creationDate = new Date();
+            for (ProductAccount productAccount : productAccounts) {
+                productAccount.setCreationDate(creationDate);
+            }
+            created = this.repository.saveAllAndFlush(productAccounts);
+            log.debug("{} Product Accounts created", created.size());
+        } catch (Exception e) {
+            log.error("Error in Product Accounts creation: {}", e.getMessage());
+            throw new CRUDException(510, "Product Accounts cannot be created, error:" + e.getMessage(), e);
+        }
+        this.eventPublisher.publishEvent(new ProductAccountsImportedEvent(created));
+        return created;
+    }
+
+    public SingleFlight<String, Optional<ProductAccount>> getIdLookups() {
+        return this.idLookups;
     }
 }
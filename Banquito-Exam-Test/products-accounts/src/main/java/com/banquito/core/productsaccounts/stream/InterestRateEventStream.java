@@ -0,0 +1,151 @@
+package com.banquito.core.productsaccounts.stream;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.banquito.core.common.stream.SseEventHub;
+import com.banquito.core.productsaccounts.controller.mapper.InterestRateMapper;
+import com.banquito.core.productsaccounts.event.InterestRateChangedEvent;
+import com.banquito.core.productsaccounts.event.InterestRatesImportedEvent;
+import com.banquito.core.productsaccounts.event.InterestRatesInactivatedEvent;
+import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.repository.InterestRateRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes every interest rate change committed by this instance to the event
+ * stream subscribers, right after the commit. The event id is the change
+ * sequence of the row.
+ *
+ * A client reconnecting with a Last-Event-ID is resumed from the database:
+ * the changes after that sequence, the same way the delta-sync endpoint reads
+ * them, which also covers the writes of the other instances. Past
+ * {@code banquito.stream.interest-rates.buffer-size} changes it gets a reset
+ * instead. Both reads go to the primary, which a replica may lag behind.
+ */
+@Slf4j
+@Component
+public class InterestRateEventStream {
+
+    public static final String EVENT_NAME = "interest-rate";
+
+    private static final Comparator<InterestRate> BY_CHANGE_SEQ = Comparator.comparing(InterestRate::getChangeSeq);
+
+    private final InterestRateRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate primaryTransaction;
+    private final SseEventHub hub;
+    private final int bufferSize;
+
+    public InterestRateEventStream(InterestRateRepository repository, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${banquito.stream.interest-rates.buffer-size:1000}") int bufferSize,
+            @Value("${banquito.stream.timeout-ms:1800000}") long timeoutMs) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        // The listeners run after the commit, with the finished transaction still bound.
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.bufferSize = bufferSize;
+        this.hub = new SseEventHub(0, timeoutMs);
+    }
+
+    public SseEmitter subscribe(Long lastEventId) {
+        log.info("New interest rate event stream subscriber, last event id: {}", lastEventId);
+        return this.hub.subscribe(lastEventId, this::changesAfter);
+    }
+
+    /**
+     * Updated and inactivated rates come from an UPDATE ... RETURNING and carry
+     * their change sequence. A created one got it from the database trigger
+     * after the insert, so it is read back.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInterestRateChanged(InterestRateChangedEvent event) {
+        InterestRate interestRate = event.getInterestRate();
+        if (event.getType() == InterestRateChangedEvent.Type.CREATED || interestRate.getChangeSeq() == null) {
+            this.publishById(List.of(interestRate.getId()));
+        } else if (this.hub.getSubscribers() > 0) {
+            this.publish(interestRate);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInterestRatesImported(InterestRatesImportedEvent event) {
+        List<Integer> ids = new ArrayList<>(event.getInterestRates().size());
+        for (InterestRate interestRate : event.getInterestRates()) {
+            ids.add(interestRate.getId());
+        }
+        this.publishById(ids);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInterestRatesInactivated(InterestRatesInactivatedEvent event) {
+        this.publishById(event.getIds());
+    }
+
+    @Scheduled(fixedDelayString = "${banquito.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        this.hub.heartbeat();
+    }
+
+    public int getSubscribers() {
+        return this.hub.getSubscribers();
+    }
+
+    private List<SseEventHub.Event> changesAfter(long changeSeq) {
+        List<InterestRate> changes = this.primaryTransaction.execute(status -> this.repository
+                .findByChangeSeqGreaterThanOrderByChangeSeqAsc(changeSeq, PageRequest.of(0, this.bufferSize + 1)));
+        if (changes.size() > this.bufferSize) {
+            return null;
+        }
+        List<SseEventHub.Event> events = new ArrayList<>(changes.size());
+        for (InterestRate interestRate : changes) {
+            events.add(new SseEventHub.Event(interestRate.getChangeSeq(), EVENT_NAME, this.data(interestRate)));
+        }
+        return events;
+    }
+
+    private void publishById(Collection<Integer> ids) {
+        if (ids.isEmpty() || this.hub.getSubscribers() == 0) {
+            return;
+        }
+        List<InterestRate> changed = new ArrayList<>();
+        for (InterestRate interestRate : this.primaryTransaction.execute(status -> this.repository.findAllById(ids))) {
+            if (interestRate.getChangeSeq() != null) {
+                changed.add(interestRate);
+            }
+        }
+        changed.sort(BY_CHANGE_SEQ);
+        for (InterestRate interestRate : changed) {
+            this.publish(interestRate);
+        }
+    }
+
+    private void publish(InterestRate interestRate) {
+        this.hub.publish(interestRate.getChangeSeq(), EVENT_NAME, this.data(interestRate));
+    }
+
+    private String data(InterestRate interestRate) {
+        try {
+            return this.objectMapper.writeValueAsString(InterestRateMapper.mapToInterestRateRQRS(interestRate));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Interest rate event cannot be written for " + interestRate.getId(), e);
+        }
+    }
+}
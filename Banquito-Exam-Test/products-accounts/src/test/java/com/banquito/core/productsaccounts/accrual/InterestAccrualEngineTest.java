@@ -0,0 +1,92 @@
+package com.banquito.core.productsaccounts.accrual;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import com.banquito.core.productsaccounts.model.InterestRate;
+
+public class InterestAccrualEngineTest {
+
+    private static final LocalDate ACCRUAL_DATE = LocalDate.parse("2023-03-15");
+
+    private final AccrualRateTable rates = new AccrualRateTable(Arrays.asList(
+            rate(1, "0.0525", "2023-01-01", null),
+            rate(2, "0.0100", "2022-01-01", "2022-12-31"),
+            rate(3, "0.9900", "2020-01-01", null)), ACCRUAL_DATE);
+
+    @Test
+    void testAccrueDailyMatchesBigDecimal() {
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            long balance = random.nextLong(1_000_000_000_000L);
+            long annualRate = random.nextInt(990_000);
+            assertEquals(expected(balance, annualRate), InterestAccrualEngine.accrueDaily(balance, annualRate));
+        }
+        assertEquals(expected(1_000_000_000_000_000L, 990_000),
+                InterestAccrualEngine.accrueDaily(1_000_000_000_000_000L, 990_000));
+        assertEquals(0, InterestAccrualEngine.accrueDaily(-500, 52_500));
+    }
+
+    @Test
+    void testAccrueResolvesRatesInForce() {
+        AccrualBatch batch = new AccrualBatch(3);
+        batch.add("ACC-1", 100_000_00L, 1);
+        batch.add("ACC-2", 100_000_00L, 2);
+        batch.add("ACC-3", 100_000_00L, 99);
+
+        AccrualResult result = new InterestAccrualEngine(ForkJoinPool.commonPool()).accrue(batch, rates);
+
+        assertEquals(2, rates.size());
+        assertEquals(14_383_562, result.getAccruedMicros()[0]);
+        assertEquals(AccrualResult.UNRESOLVED, result.getAccruedMicros()[1]);
+        assertEquals(AccrualResult.UNRESOLVED, result.getAccruedMicros()[2]);
+        assertEquals(14_383_562, result.getTotalMicros());
+        assertEquals(2, result.getUnresolved());
+    }
+
+    @Test
+    void testParallelAccrualMatchesSequentialSum() {
+        int rows = InterestAccrualEngine.SPLIT_THRESHOLD * 5 + 17;
+        AccrualBatch batch = new AccrualBatch(16);
+        Random random = new Random(11);
+        long expectedTotal = 0;
+        for (int i = 0; i < rows; i++) {
+            long balance = random.nextLong(10_000_000_00L);
+            batch.add("ACC-" + i, balance, i % 2 == 0 ? 1 : 3);
+            expectedTotal += expected(balance, i % 2 == 0 ? 52_500 : 990_000);
+        }
+
+        AccrualResult result = new InterestAccrualEngine(new ForkJoinPool(4)).accrue(batch, rates);
+
+        assertEquals(rows, result.getAccruedMicros().length);
+        assertEquals(expectedTotal, result.getTotalMicros());
+        assertEquals(0, result.getUnresolved());
+    }
+
+    private static long expected(long balanceInCents, long annualRate) {
+        return BigDecimal.valueOf(balanceInCents).movePointLeft(2)
+                .multiply(BigDecimal.valueOf(annualRate).movePointLeft(6))
+                .divide(BigDecimal.valueOf(InterestAccrualEngine.DAYS_IN_YEAR), 6, RoundingMode.HALF_UP)
+                .movePointRight(6).longValueExact();
+    }
+
+    private static InterestRate rate(Integer id, String value, String start, String end) {
+        InterestRate interestRate = new InterestRate();
+        interestRate.setId(id);
+        interestRate.setName("rate" + id);
+        interestRate.setInterestRate(new BigDecimal(value));
+        interestRate.setState(end == null ? "ACT" : "INA");
+        interestRate.setStart(Date.valueOf(start));
+        interestRate.setEnd(end == null ? null : Date.valueOf(end));
+        return interestRate;
+    }
+}
@@ -0,0 +1,101 @@
+package com.banquito.core.productsaccounts.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import com.banquito.core.productsaccounts.controller.dto.InterestRateRQRS;
+import com.banquito.core.productsaccounts.controller.mapper.InterestRateMapper;
+import com.banquito.core.productsaccounts.event.InterestRateChangedEvent;
+import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.repository.InterestRateRepository;
+
+public class ActiveInterestRateSnapshotTest {
+
+    @Mock
+    private InterestRateRepository interestRateRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ActiveInterestRateSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        snapshot = new ActiveInterestRateSnapshot(interestRateRepository, transactionManager);
+    }
+
+    @Test
+    void testLoadReadsInReadWriteTransaction() {
+        when(interestRateRepository.findRQRSByState("ACT")).thenReturn(List.of());
+
+        snapshot.reload();
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertFalse(definition.getValue().isReadOnly());
+    }
+
+    @Test
+    void testGetLoadsOnce() {
+        when(interestRateRepository.findRQRSByState("ACT")).thenReturn(
+                InterestRateMapper.mapToList(Arrays.asList(rate(2, "ACT"), rate(1, "ACT"))));
+
+        List<InterestRateRQRS> first = snapshot.get();
+        List<InterestRateRQRS> second = snapshot.get();
+
+        assertEquals(2, first.size());
+        assertEquals(1, first.get(0).getId());
+        assertEquals(first, second);
+        verify(interestRateRepository, times(1)).findRQRSByState("ACT");
+        assertThrows(UnsupportedOperationException.class, () -> first.add(InterestRateRQRS.builder().build()));
+    }
+
+    @Test
+    void testChangesAreAppliedCopyOnWrite() {
+        when(interestRateRepository.findRQRSByState("ACT")).thenReturn(
+                InterestRateMapper.mapToList(Arrays.asList(rate(1, "ACT"), rate(2, "ACT"))));
+        List<InterestRateRQRS> before = snapshot.get();
+
+        snapshot.onInterestRateChanged(
+                new InterestRateChangedEvent(InterestRateChangedEvent.Type.CREATED, rate(3, "ACT")));
+        snapshot.onInterestRateChanged(
+                new InterestRateChangedEvent(InterestRateChangedEvent.Type.INACTIVATED, rate(1, "INA")));
+
+        List<InterestRateRQRS> after = snapshot.get();
+        assertNotSame(before, after);
+        assertEquals(2, before.size());
+        assertEquals(2, after.size());
+        assertEquals(2, after.get(0).getId());
+        assertEquals(3, after.get(1).getId());
+        verify(interestRateRepository, times(1)).findRQRSByState("ACT");
+    }
+
+    private InterestRate rate(Integer id, String state) {
+        InterestRate interestRate = new InterestRate();
+        interestRate.setId(id);
+        interestRate.setName("rate" + id);
+        interestRate.setInterestRate(new BigDecimal("0.01"));
+        interestRate.setState(state);
+        interestRate.setStart(new Date());
+        return interestRate;
+    }
+}
@@ -0,0 +1,155 @@
+package com.banquito.core.productsaccounts.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.banquito.core.productsaccounts.event.InterestRateChangedEvent;
+import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.repository.InterestRateRepository;
+
+public class InterestRateTimelineTest {
+
+    @Mock
+    private InterestRateRepository interestRateRepository;
+
+    private InterestRateTimeline timeline;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        timeline = new InterestRateTimeline(interestRateRepository, Runnable::run);
+        when(interestRateRepository.findAll()).thenReturn(Arrays.asList(
+                rate(1, "PASIVA", "INA", "2022-01-01", "2022-06-30"),
+                rate(2, "PASIVA", "INA", "2022-07-01", "2022-12-31"),
+                rate(3, "PASIVA", "ACT", "2023-01-01", null),
+                rate(4, "AHORRO", "INA", "2021-01-01", "2023-12-31"),
+                rate(5, "AHORRO", "INA", "2022-03-01", "2022-03-31")));
+    }
+
+    @Test
+    void testFindEffectiveCoversHistoricalRates() {
+        assertEquals(1, timeline.findEffective("PASIVA", LocalDate.parse("2022-06-30")).getId());
+        assertEquals(2, timeline.findEffective("PASIVA", LocalDate.parse("2022-07-01")).getId());
+        assertEquals(3, timeline.findEffective("PASIVA", LocalDate.parse("2030-01-01")).getId());
+        assertNull(timeline.findEffective("PASIVA", LocalDate.parse("2021-12-31")));
+        assertNull(timeline.findEffective("OTHER", LocalDate.parse("2022-01-01")));
+    }
+
+    @Test
+    void testFindEffectiveWithOverlappingPeriods() {
+        assertEquals(5, timeline.findEffective("AHORRO", LocalDate.parse("2022-03-15")).getId());
+        assertEquals(4, timeline.findEffective("AHORRO", LocalDate.parse("2022-04-01")).getId());
+        assertNull(timeline.findEffective("AHORRO", LocalDate.parse("2024-01-01")));
+    }
+
+    @Test
+    void testFindAllEffective() {
+        List<InterestRate> effective = timeline.findAllEffective(LocalDate.parse("2022-03-15"));
+
+        assertEquals(2, effective.size());
+        assertEquals(5, effective.get(0).getId());
+        assertEquals(1, effective.get(1).getId());
+    }
+
+    @Test
+    void testIndexIsRebuiltAfterChange() {
+        timeline.findEffective("PASIVA", LocalDate.parse("2022-01-01"));
+        timeline.findEffective("PASIVA", LocalDate.parse("2022-02-01"));
+        timeline.onInterestRateChanged(new InterestRateChangedEvent(InterestRateChangedEvent.Type.CREATED,
+                rate(6, "PASIVA", "ACT", "2024-01-01", null)));
+        timeline.findEffective("PASIVA", LocalDate.parse("2022-01-01"));
+
+        verify(interestRateRepository, times(2)).findAll();
+    }
+
+    @Test
+    void testReadersKeepThePreviousIndexUntilTheRebuildIsSwappedIn() {
+        Queue<Runnable> rebuilds = new ArrayDeque<>();
+        timeline = new InterestRateTimeline(interestRateRepository, rebuilds::add);
+        timeline.reload();
+        rebuilds.poll().run();
+        assertEquals(3, timeline.findEffective("PASIVA", LocalDate.parse("2024-06-01")).getId());
+
+        InterestRate created = rate(6, "PASIVA", "ACT", "2024-01-01", null);
+        when(interestRateRepository.findAll()).thenReturn(Arrays.asList(
+                rate(3, "PASIVA", "ACT", "2023-01-01", null), created));
+        timeline.onInterestRateChanged(new InterestRateChangedEvent(InterestRateChangedEvent.Type.CREATED, created));
+        timeline.onInterestRateChanged(new InterestRateChangedEvent(InterestRateChangedEvent.Type.UPDATED, created));
+
+        assertEquals(1, rebuilds.size());
+        assertEquals(3, timeline.findEffective("PASIVA", LocalDate.parse("2024-06-01")).getId());
+        rebuilds.poll().run();
+        assertSame(created, timeline.findEffective("PASIVA", LocalDate.parse("2024-06-01")));
+    }
+
+    @Test
+    void testInForceIncludesStartAndEndDays() {
+        InterestRate closed = rate(1, "PASIVA", "INA", "2022-01-01", "2022-06-30");
+        InterestRate open = rate(2, "PASIVA", "ACT", "2023-01-01", null);
+
+        assertFalse(InterestRateTimeline.isInForce(closed, LocalDate.parse("2021-12-31").toEpochDay()));
+        assertTrue(InterestRateTimeline.isInForce(closed, LocalDate.parse("2022-01-01").toEpochDay()));
+        assertTrue(InterestRateTimeline.isInForce(closed, LocalDate.parse("2022-06-30").toEpochDay()));
+        assertFalse(InterestRateTimeline.isInForce(closed, LocalDate.parse("2022-07-01").toEpochDay()));
+        assertTrue(InterestRateTimeline.isInForce(open, LocalDate.parse("2099-01-01").toEpochDay()));
+    }
+
+    @Test
+    void testPartitionMatchesAScanOfEveryPeriod() {
+        Random random = new Random(7);
+        LocalDate origin = LocalDate.parse("2020-01-01");
+        List<InterestRate> rates = new ArrayList<>();
+        for (int id = 1; id <= 200; id++) {
+            LocalDate start = origin.plusDays(random.nextInt(1000));
+            LocalDate end = random.nextInt(10) == 0 ? null : start.plusDays(random.nextInt(120));
+            rates.add(rate(id, "PASIVA", "INA", start.toString(), end == null ? null : end.toString()));
+        }
+        when(interestRateRepository.findAll()).thenReturn(rates);
+
+        for (int offset = -5; offset < 1200; offset++) {
+            LocalDate day = origin.plusDays(offset);
+            InterestRate expected = null;
+            for (InterestRate rate : rates) {
+                if (!rate.getStart().after(Date.valueOf(day))
+                        && (rate.getEnd() == null || !rate.getEnd().before(Date.valueOf(day)))
+                        && (expected == null || rate.getStart().after(expected.getStart())
+                                || rate.getStart().equals(expected.getStart()) && rate.getId() > expected.getId())) {
+                    expected = rate;
+                }
+            }
+            assertSame(expected, timeline.findEffective("PASIVA", day), "on " + day);
+        }
+    }
+
+    private InterestRate rate(Integer id, String name, String state, String start, String end) {
+        InterestRate interestRate = new InterestRate();
+        interestRate.setId(id);
+        interestRate.setName(name);
+        interestRate.setInterestRate(new BigDecimal("0.01"));
+        interestRate.setState(state);
+        interestRate.setStart(Date.valueOf(start));
+        interestRate.setEnd(end == null ? null : Date.valueOf(end));
+        return interestRate;
+    }
+}
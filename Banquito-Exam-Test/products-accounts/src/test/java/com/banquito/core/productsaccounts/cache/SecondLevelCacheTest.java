@@ -0,0 +1,98 @@
+package com.banquito.core.productsaccounts.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.banquito.core.productsaccounts.controller.dto.CacheStatisticsRS;
+import com.banquito.core.productsaccounts.event.InterestRateChangedEvent;
+import com.banquito.core.productsaccounts.event.InterestRatesInactivatedEvent;
+import com.banquito.core.productsaccounts.model.InterestRate;
+
+import jakarta.persistence.EntityManagerFactory;
+
+public class SecondLevelCacheTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private Statistics statistics;
+
+    private SecondLevelCache secondLevelCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        secondLevelCache = new SecondLevelCache(entityManagerFactory);
+    }
+
+    @Test
+    void testNativeWritesAreEvicted() {
+        InterestRate interestRate = new InterestRate();
+        interestRate.setId(7);
+
+        secondLevelCache.onInterestRateChanged(
+                new InterestRateChangedEvent(InterestRateChangedEvent.Type.UPDATED, interestRate));
+        secondLevelCache.onInterestRatesInactivated(new InterestRatesInactivatedEvent(Arrays.asList(8, 9)));
+
+        verify(cache, times(1)).evictEntityData(InterestRate.class, 7);
+        verify(cache, times(1)).evictEntityData(InterestRate.class, 8);
+        verify(cache, times(1)).evictEntityData(InterestRate.class, 9);
+        verify(cache, times(2)).evictDefaultQueryRegion();
+    }
+
+    @Test
+    void testCreationIsLeftToHibernate() {
+        InterestRate interestRate = new InterestRate();
+        interestRate.setId(7);
+
+        secondLevelCache.onInterestRateChanged(
+                new InterestRateChangedEvent(InterestRateChangedEvent.Type.CREATED, interestRate));
+
+        verify(cache, never()).evictDefaultQueryRegion();
+    }
+
+    @Test
+    void testStatistics() {
+        CacheRegionStatistics region = org.mockito.Mockito.mock(CacheRegionStatistics.class);
+        when(region.getHitCount()).thenReturn(3L);
+        when(region.getMissCount()).thenReturn(1L);
+        when(statistics.isStatisticsEnabled()).thenReturn(true);
+        when(statistics.getSecondLevelCacheRegionNames()).thenReturn(new String[] {"product-account"});
+        when(statistics.getCacheRegionStatistics("product-account")).thenReturn(region);
+        when(statistics.getSecondLevelCacheHitCount()).thenReturn(3L);
+        when(statistics.getSecondLevelCacheMissCount()).thenReturn(1L);
+
+        CacheStatisticsRS result = secondLevelCache.statistics();
+
+        assertEquals(true, result.isEnabled());
+        assertEquals(0.75, result.getEntityHitRatio());
+        assertEquals(0, result.getQueryHitRatio());
+        assertEquals(1, result.getRegions().size());
+        assertEquals("product-account", result.getRegions().get(0).getRegion());
+        assertEquals(0.75, result.getRegions().get(0).getHitRatio());
+    }
+}
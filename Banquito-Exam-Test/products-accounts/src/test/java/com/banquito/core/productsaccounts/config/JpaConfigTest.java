@@ -0,0 +1,35 @@
+package com.banquito.core.productsaccounts.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.context.annotation.UserConfigurations;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+
+public class JpaConfigTest {
+
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withConfiguration(UserConfigurations.of(JpaConfig.class))
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class,
+                    HibernateJpaAutoConfiguration.class))
+            .withPropertyValues("spring.datasource.url=jdbc:h2:mem:jpaconfig;DB_CLOSE_DELAY=-1",
+                    "banquito.jpa.cache.enabled=false");
+
+    @Test
+    public void openInViewIsOffByDefault() {
+        this.contextRunner.run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context).doesNotHaveBean(OpenEntityManagerInViewInterceptor.class);
+        });
+    }
+
+    @Test
+    public void openInViewCanBeTurnedBackOn() {
+        this.contextRunner.withPropertyValues("spring.jpa.open-in-view=true")
+                .run(context -> assertThat(context).hasSingleBean(OpenEntityManagerInViewInterceptor.class));
+    }
+}
@@ -0,0 +1,73 @@
+package com.banquito.core.productsaccounts.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.banquito.core.productsaccounts.config.ReplicaRoutingDataSource.Route;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private final ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource();
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        ReplicaRoutingContext.end();
+    }
+
+    @Test
+    public void readOnlyTransactionGoesToReplica() {
+        ReplicaRoutingContext.begin();
+        startTransaction(true);
+
+        assertEquals(Route.REPLICA, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    public void writeTransactionGoesToPrimary() {
+        ReplicaRoutingContext.begin();
+        startTransaction(false);
+
+        assertEquals(Route.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    public void readAfterWriteInSameRequestGoesToPrimary() {
+        ReplicaRoutingContext.begin();
+        startTransaction(false);
+        dataSource.determineCurrentLookupKey();
+        startTransaction(true);
+
+        assertEquals(Route.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    public void newRequestReadsFromReplicaAgain() {
+        ReplicaRoutingContext.begin();
+        startTransaction(false);
+        dataSource.determineCurrentLookupKey();
+        ReplicaRoutingContext.end();
+        ReplicaRoutingContext.begin();
+        startTransaction(true);
+
+        assertEquals(Route.REPLICA, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    public void writeOutsideRequestDoesNotPin() {
+        startTransaction(false);
+        dataSource.determineCurrentLookupKey();
+        startTransaction(true);
+
+        assertEquals(Route.REPLICA, dataSource.determineCurrentLookupKey());
+    }
+
+    private static void startTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+}
@@ -0,0 +1,105 @@
+package com.banquito.core.productsaccounts.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.banquito.core.productsaccounts.cache.ActiveInterestRateSnapshot;
+import com.banquito.core.productsaccounts.exception.CRUDException;
+import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.service.InterestRateService;
+import com.banquito.core.productsaccounts.stream.InterestRateEventStream;
+
+public class CRUDExceptionHandlerTest {
+
+    @Mock
+    private InterestRateService interestRateService;
+
+    @Mock
+    private ActiveInterestRateSnapshot activeInterestRates;
+
+    @Mock
+    private InterestRateEventStream eventStream;
+
+    @InjectMocks
+    private InterestRateController interestRateController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(interestRateController)
+                .setControllerAdvice(new CRUDExceptionHandler()).build();
+    }
+
+    @Test
+    void testErrorCodeIsResponseStatus() throws Exception {
+        when(interestRateService.obtainEffective("missing", LocalDate.of(2023, 1, 1)))
+                .thenThrow(new CRUDException(404, "Interest Rate: {missing} was not in force on: {2023-01-01}"));
+
+        mockMvc.perform(get("/api/v1/interestrates/effective").param("name", "missing").param("date", "2023-01-01"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testFieldsWithLimitAreRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/interestrates").param("fields", "id").param("limit", "10"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(interestRateService, activeInterestRates);
+    }
+
+    @Test
+    void testCreateWithRejectedDataIsBadRequest() throws Exception {
+        doThrow(new CRUDException(510, "Interest Rate cannot be created",
+                new DataIntegrityViolationException("null value in column \"name\"")))
+                .when(interestRateService).create(any(InterestRate.class));
+
+        mockMvc.perform(post("/api/v1/interestrates").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"interestRate\":0.05,\"state\":\"ACT\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testCreateFailureIsServerError() throws Exception {
+        doThrow(new CRUDException(510, "Interest Rate cannot be created", new IllegalStateException()))
+                .when(interestRateService).create(any(InterestRate.class));
+
+        mockMvc.perform(post("/api/v1/interestrates").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"rate\",\"interestRate\":0.05,\"state\":\"ACT\"}"))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    void testFailureWithCause() throws Exception {
+        doThrow(new CRUDException(530, "Interest Rate cannot be inactivated", new IllegalStateException()))
+                .when(interestRateService).inactivate(1);
+
+        mockMvc.perform(delete("/api/v1/interestrates/1")).andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    void testExpectedOutcomeIsStackless() {
+        assertEquals(0, new CRUDException(404, "not found").getStackTrace().length);
+        assertTrue(new CRUDException(530, "failed", new IllegalStateException()).getStackTrace().length > 0);
+    }
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
@@ -14,6 +15,7 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,16 +26,30 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.banquito.core.productsaccounts.cache.ActiveInterestRateSnapshot;
+import com.banquito.core.productsaccounts.controller.dto.InterestRateChangesRS;
+import com.banquito.core.productsaccounts.controller.dto.InterestRatePageRS;
 import com.banquito.core.productsaccounts.controller.dto.InterestRateRQRS;
+import com.banquito.core.productsaccounts.controller.mapper.InterestRateMapper;
 import com.banquito.core.productsaccounts.exception.CRUDException;
 import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.service.InterestRateChanges;
+import com.banquito.core.productsaccounts.service.InterestRatePage;
 import com.banquito.core.productsaccounts.service.InterestRateService;
+import com.banquito.core.productsaccounts.stream.InterestRateEventStream;
 
 public class InterestRateControllerTest {
     @Mock
     private InterestRateService interestRateService;
 
+    @Mock
+    private ActiveInterestRateSnapshot activeInterestRates;
+
+    @Mock
+    private InterestRateEventStream eventStream;
+
     @InjectMocks
     private InterestRateController interestRateController;
 
@@ -62,7 +78,7 @@ public class InterestRateControllerTest {
         interestRate2.setEnd(new Date());
         interestRates.add(interestRate2);
 
-        when(interestRateService.listAllActives()).thenReturn(interestRates);
+        when(activeInterestRates.get()).thenReturn(InterestRateMapper.mapToList(interestRates));
 
         ResponseEntity<List<InterestRateRQRS>> response = interestRateController.obtainAll();
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -145,9 +161,123 @@ public class InterestRateControllerTest {
 
         doThrow(new CRUDException(errorCode, "Error deleting interest rate")).when(interestRateService).inactivate(Mockito.anyInt());
 
-        ResponseEntity<?> response = interestRateController.delete(interestRateId);
-        assertEquals(HttpStatus.valueOf(errorCode), response.getStatusCode());
-        assertNull(response.getBody());
+        CRUDException e = assertThrows(CRUDException.class, () -> interestRateController.delete(interestRateId));
+        assertEquals(errorCode, e.getErrorCode());
+    }
+
+    @Test
+    void testObtainAllFields() {
+        InterestRateRQRS interestRateRQRS = InterestRateRQRS.builder()
+                .id(1)
+                .name("test interest rate")
+                .interestRate(new BigDecimal("0.05"))
+                .state("ACT")
+                .start(new Date())
+                .build();
+        when(activeInterestRates.get()).thenReturn(List.of(interestRateRQRS));
+
+        ResponseEntity<List<Map<String, Object>>> response = interestRateController.obtainAllFields("state,id,name");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Map<String, Object> row = response.getBody().get(0);
+        assertEquals(List.of("id", "name", "state"), List.copyOf(row.keySet()));
+        assertEquals(1, row.get("id"));
+        assertEquals("ACT", row.get("state"));
+    }
+
+    @Test
+    void testObtainAllFields_noField() {
+        CRUDException e = assertThrows(CRUDException.class, () -> interestRateController.obtainAllFields(" , "));
+
+        assertEquals(400, e.getErrorCode());
+    }
+
+    @Test
+    void testObtainPage() {
+        InterestRate interestRate = new InterestRate();
+        interestRate.setId(1);
+        interestRate.setName("rate1");
+        when(interestRateService.listActivesPage(null, 1, InterestRateService.SORT_BY_ID))
+                .thenReturn(new InterestRatePage(List.of(interestRate), null));
+
+        ResponseEntity<InterestRatePageRS> response = interestRateController.obtainPage(1, null,
+                InterestRateService.SORT_BY_ID);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getInterestRates().size());
+        assertNull(response.getBody().getNext());
+    }
+
+    @Test
+    void testObtainChanges() {
+        InterestRate interestRate = new InterestRate();
+        interestRate.setId(1);
+        interestRate.setState("INA");
+        when(interestRateService.listChanges("token", 100))
+                .thenReturn(new InterestRateChanges(List.of(interestRate), "next", false));
+
+        ResponseEntity<InterestRateChangesRS> response = interestRateController.obtainChanges("token", 100);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("INA", response.getBody().getInterestRates().get(0).getState());
+        assertEquals("next", response.getBody().getNext());
+        assertEquals(false, response.getBody().getMore());
+    }
+
+    @Test
+    void testStream() {
+        SseEmitter emitter = new SseEmitter();
+        when(eventStream.subscribe(42L)).thenReturn(emitter);
+
+        assertEquals(emitter, interestRateController.stream(42L));
+    }
+
+    @Test
+    void testDeleteAll() {
+        when(interestRateService.inactivateAll(List.of(1, 2))).thenReturn(List.of(2));
+
+        ResponseEntity<List<Integer>> response = interestRateController.deleteAll(List.of(1, 2));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(2), response.getBody());
+    }
+
+    @Test
+    void testDeleteAllByNamePrefix_CRUDException() {
+        when(interestRateService.inactivateAllByNamePrefix(""))
+                .thenThrow(new CRUDException(400, "A name prefix is required to inactivate Interest Rates"));
+
+        CRUDException e = assertThrows(CRUDException.class, () -> interestRateController.deleteAllByNamePrefix(""));
+
+        assertEquals(400, e.getErrorCode());
+    }
+
+    @Test
+    void testCreateBulk() {
+        InterestRateRQRS interestRateRQRS = InterestRateRQRS.builder()
+                .name("test interest rate")
+                .interestRate(new BigDecimal("0.05"))
+                .state("ACT")
+                .start(new Date())
+                .build();
+        InterestRate created = InterestRateMapper.mapToInterestRate(interestRateRQRS);
+        created.setId(51);
+        when(interestRateService.createAll(any())).thenReturn(List.of(created));
+
+        ResponseEntity<List<InterestRateRQRS>> response = interestRateController.createBulk(List.of(interestRateRQRS));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        assertEquals(51, response.getBody().get(0).getId());
+    }
+
+    @Test
+    void testCreateBulk_CRUDException() {
+        when(interestRateService.createAll(any())).thenThrow(new CRUDException(510, "Interest Rates cannot be created"));
+
+        CRUDException e = assertThrows(CRUDException.class, () -> interestRateController.createBulk(List.of()));
+
+        assertEquals(510, e.getErrorCode());
     }
 
     @Test
@@ -165,8 +295,7 @@ public class InterestRateControllerTest {
         when(interestRate.getInterestRate()).thenReturn(interestRateRQRS.getInterestRate());
         when(interestRate.getState()).thenReturn(interestRateRQRS.getState());
         when(interestRate.getStart()).thenReturn(interestRateRQRS.getStart());
-        doNothing().when(interestRateService).update(any(Integer.class), any(InterestRate.class));
-        when(interestRateService.obtainById(any(Integer.class))).thenReturn(interestRate);
+        when(interestRateService.update(any(Integer.class), any(InterestRate.class))).thenReturn(interestRate);
 
         ResponseEntity<InterestRateRQRS> response = interestRateController.update("1", interestRateRQRS);
         assertEquals(HttpStatus.OK, response.getStatusCode());
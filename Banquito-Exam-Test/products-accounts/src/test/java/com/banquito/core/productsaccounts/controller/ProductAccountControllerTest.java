@@ -3,6 +3,7 @@ package com.banquito.core.productsaccounts.controller;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
@@ -11,7 +12,9 @@ import static org.mockito.Mockito.when;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,11 +26,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import com.banquito.core.productsaccounts.controller.dto.ProductAccountPageRS;
 import com.banquito.core.productsaccounts.controller.dto.ProductAccountRQRS;
 import com.banquito.core.productsaccounts.controller.mapper.ProductAccountMapper;
 import com.banquito.core.productsaccounts.exception.CRUDException;
 import com.banquito.core.productsaccounts.model.ProductAccount;
 import com.banquito.core.productsaccounts.repository.ProductAccountRepository;
+import com.banquito.core.productsaccounts.service.ProductAccountPage;
 import com.banquito.core.productsaccounts.service.ProductAccountService;
 
 public class ProductAccountControllerTest {
@@ -68,7 +73,7 @@ public class ProductAccountControllerTest {
         productAccount2.setCreationDate(new Date());
         productAccounts.add(productAccount2);
 
-        when(productAccountService.listAllActives()).thenReturn(productAccounts);
+        when(productAccountService.listAllActivesRQRS()).thenReturn(ProductAccountMapper.mapToList(productAccounts));
 
         ResponseEntity<List<ProductAccountRQRS>> response = productAccountController.obtainAll();
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -184,8 +189,94 @@ void testCreateSuccess() {
         ProductAccount productAccount = ProductAccountMapper.mapToProductAccount(productAccountRQRS);
         doThrow(new CRUDException(500, "Error creating product account")).when(productAccountService).create(productAccount);
 
-        ResponseEntity<?> response = productAccountController.create(productAccountRQRS);
-        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        CRUDException e = assertThrows(CRUDException.class, () -> productAccountController.create(productAccountRQRS));
+        assertEquals(500, e.getErrorCode());
+    }
+
+    @Test
+    void testCreateBulk() {
+        ProductAccountRQRS productAccountRQRS = ProductAccountRQRS.builder()
+                .id("001")
+                .name("Product1")
+                .description("Product 1 description")
+                .minimunBalance(new BigDecimal("100.00"))
+                .payInterest("Y")
+                .acceptsChecks("N")
+                .state("ACT")
+                .build();
+        when(productAccountService.createAll(Mockito.anyList()))
+                .thenReturn(List.of(ProductAccountMapper.mapToProductAccount(productAccountRQRS)));
+
+        ResponseEntity<List<ProductAccountRQRS>> response = productAccountController.createBulk(List.of(productAccountRQRS));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        assertEquals("001", response.getBody().get(0).getId());
+    }
+
+    @Test
+    void testCreateBulk_CRUDException() {
+        when(productAccountService.createAll(Mockito.anyList()))
+                .thenThrow(new CRUDException(510, "Product Accounts cannot be created"));
+
+        CRUDException e = assertThrows(CRUDException.class, () -> productAccountController.createBulk(List.of()));
+
+        assertEquals(510, e.getErrorCode());
     }
 
+    @Test
+    void testObtainPage() {
+        ProductAccount productAccount = new ProductAccount();
+        productAccount.setId("001");
+        productAccount.setName("Product1");
+        when(productAccountService.listActivesPage(null, 1, ProductAccountService.SORT_BY_NAME))
+                .thenReturn(new ProductAccountPage(List.of(productAccount), "bmV4dA"));
+
+        ResponseEntity<ProductAccountPageRS> response = productAccountController.obtainPage(1, null,
+                ProductAccountService.SORT_BY_NAME);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getProductAccounts().size());
+        assertEquals("bmV4dA", response.getBody().getNext());
+    }
+
+    @Test
+    void testObtainPageFields() {
+        CRUDException e = assertThrows(CRUDException.class, () -> productAccountController.obtainPageFields());
+
+        assertEquals(400, e.getErrorCode());
+    }
+
+    @Test
+    void testObtainPage_CRUDException() {
+        when(productAccountService.listActivesPage(null, 0, ProductAccountService.SORT_BY_ID))
+                .thenThrow(new CRUDException(400, "Page limit must be between 1 and 500"));
+
+        CRUDException e = assertThrows(CRUDException.class, () -> productAccountController.obtainPage(0, null,
+                ProductAccountService.SORT_BY_ID));
+
+        assertEquals(400, e.getErrorCode());
+    }
+
+    @Test
+    void testObtainAllFields() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", "001");
+        row.put("name", "Product1");
+        when(productAccountService.listAllActivesFields(List.of("id", "name"))).thenReturn(List.of(row));
+
+        ResponseEntity<List<Map<String, Object>>> response = productAccountController.obtainAllFields("name, id,name");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(row), response.getBody());
+    }
+
+    @Test
+    void testObtainAllFields_unknownField() {
+        CRUDException e = assertThrows(CRUDException.class,
+                () -> productAccountController.obtainAllFields("id,creationDate"));
+
+        assertEquals(400, e.getErrorCode());
+        Mockito.verifyNoInteractions(productAccountService);
+    }
 }
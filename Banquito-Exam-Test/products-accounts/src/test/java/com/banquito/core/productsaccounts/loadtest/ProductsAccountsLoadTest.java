@@ -0,0 +1,158 @@
+package com.banquito.core.productsaccounts.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.banquito.core.common.loadtest.LoadGenerator;
+import com.banquito.core.common.loadtest.LoadGenerator.LoadReport;
+import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.model.ProductAccount;
+import com.banquito.core.productsaccounts.repository.InterestRateRepository;
+import com.banquito.core.productsaccounts.repository.ProductAccountRepository;
+
+/**
+ * Boots the products accounts service on a random port against the database
+ * of the {@code loadtest} profile, an in-memory H2 by default, and drives a
+ * mix of reads and writes at a fixed arrival rate. Tagged {@code load}, so it
+ * only runs with {@code mvn test -Pload-test}; the rate and the length of the
+ * run are set with {@code -Dloadtest.rate}, {@code -Dloadtest.duration-seconds}
+ * and {@code -Dloadtest.warmup-seconds}. Updates of interest rates use
+ * PostgreSQL's {@code UPDATE ... RETURNING}, so they are only part of the mix
+ * when the test runs against PostgreSQL.
+ */
+@Tag("load")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ProductsAccountsLoadTest {
+
+    private static final int SEEDED_INTEREST_RATES = 100;
+    private static final int SEEDED_PRODUCT_ACCOUNTS = 1000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private InterestRateRepository interestRateRepository;
+
+    @Autowired
+    private ProductAccountRepository productAccountRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final List<Integer> interestRateIds = new ArrayList<>();
+
+    /**
+     * Part of the ids of the product accounts created by the run, so runs
+     * against a database that outlives them do not collide.
+     */
+    private final String run = Long.toString(System.currentTimeMillis(), 36);
+
+    @BeforeEach
+    public void setUp() {
+        this.interestRateIds.clear();
+        List<InterestRate> interestRates = new ArrayList<>();
+        for (int i = 0; i < SEEDED_INTEREST_RATES; i++) {
+            InterestRate interestRate = new InterestRate();
+            interestRate.setName("Rate " + i);
+            interestRate.setInterestRate(new BigDecimal("0.0250"));
+            interestRate.setState("ACT");
+            interestRate.setStart(new Date());
+            interestRates.add(interestRate);
+        }
+        for (InterestRate interestRate : this.interestRateRepository.saveAll(interestRates)) {
+            this.interestRateIds.add(interestRate.getId());
+        }
+        List<ProductAccount> productAccounts = new ArrayList<>();
+        for (int i = 0; i < SEEDED_PRODUCT_ACCOUNTS; i++) {
+            if (!this.productAccountRepository.existsById(seededId(i))) {
+                productAccounts.add(productAccount(seededId(i)));
+            }
+        }
+        this.productAccountRepository.saveAll(productAccounts);
+    }
+
+    @Test
+    void testMixedLoad() throws InterruptedException, SQLException {
+        String rates = "http://localhost:" + this.port + "/api/v1/interestrates";
+        String accounts = "http://localhost:" + this.port + "/api/v1/productsaccounts";
+        LoadGenerator generator = new LoadGenerator()
+                .add("GET /productsaccounts/{id}", 50, i -> HttpRequest
+                        .newBuilder(URI.create(accounts + "/" + seededId(i))).GET().build())
+                .add("GET /interestrates/{id}", 15, i -> HttpRequest
+                        .newBuilder(URI.create(rates + "/" + this.seededRateId(i))).GET().build())
+                .add("GET /interestrates", 10, i -> HttpRequest.newBuilder(URI.create(rates)).GET().build())
+                .add("POST /productsaccounts", 10, i -> HttpRequest.newBuilder(URI.create(accounts))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"id\":\"LT" + this.run + i
+                                + "\",\"name\":\"Load test " + i + "\",\"description\":\"Load test\","
+                                + "\"minimunBalance\":10.00,\"payInterest\":\"N\",\"acceptsChecks\":\"N\","
+                                + "\"state\":\"ACT\"}"))
+                        .build())
+                .add("POST /interestrates", 5, i -> HttpRequest.newBuilder(URI.create(rates))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Load test " + i
+                                + "\",\"interestRate\":0.0300,\"state\":\"ACT\",\"start\":\"2023-01-01\"}"))
+                        .build());
+        if (this.isPostgreSQL()) {
+            generator.add("PUT /interestrates/{id}", 10, i -> HttpRequest
+                    .newBuilder(URI.create(rates + "/" + this.seededRateId(i)))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString("{\"name\":\"Rate " + i
+                            + "\",\"interestRate\":0.0275}"))
+                    .build());
+        }
+        LoadReport report = generator.run(Integer.getInteger("loadtest.rate", 200),
+                Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 5)),
+                Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 20)));
+
+        report.print("products-accounts");
+        assertEquals(0, report.getErrors());
+    }
+
+    private boolean isPostgreSQL() throws SQLException {
+        try (Connection connection = this.dataSource.getConnection()) {
+            return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        }
+    }
+
+    private Integer seededRateId(int i) {
+        return this.interestRateIds.get(i % this.interestRateIds.size());
+    }
+
+    private static String seededId(int i) {
+        return String.format("PA%04d", i % SEEDED_PRODUCT_ACCOUNTS);
+    }
+
+    private static ProductAccount productAccount(String id) {
+        ProductAccount productAccount = new ProductAccount();
+        productAccount.setId(id);
+        productAccount.setName("Product " + id);
+        productAccount.setDescription("Seeded for the load test");
+        productAccount.setMinimunBalance(new BigDecimal("10.00"));
+        productAccount.setPayInterest("N");
+        productAccount.setAcceptsChecks("N");
+        productAccount.setState("ACT");
+        productAccount.setCreationDate(new Date());
+        return productAccount;
+    }
+}
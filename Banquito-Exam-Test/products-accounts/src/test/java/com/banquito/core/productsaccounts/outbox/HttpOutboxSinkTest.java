@@ -0,0 +1,65 @@
+package com.banquito.core.productsaccounts.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import com.banquito.core.productsaccounts.model.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class HttpOutboxSinkTest {
+
+    private MockRestServiceServer server;
+
+    private HttpOutboxSink sink;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder().baseUrl("http://consumer/events");
+        server = MockRestServiceServer.bindTo(builder).build();
+        sink = new HttpOutboxSink(builder.build(), new ObjectMapper());
+    }
+
+    @Test
+    void testBatchIsPostedWithPayloadAsJson() {
+        server.expect(requestTo("http://consumer/events")).andExpect(method(HttpMethod.POST))
+                .andExpect(content().json("[{\"id\":11,\"aggregateType\":\"InterestRate\",\"aggregateId\":\"3\","
+                        + "\"eventType\":\"CREATED\",\"createdAt\":1000,\"payload\":{\"id\":3}}]", true))
+                .andRespond(withSuccess());
+
+        sink.send(List.of(outboxEvent()));
+
+        server.verify();
+    }
+
+    @Test
+    void testFailedAnswerFailsTheBatch() {
+        server.expect(requestTo("http://consumer/events")).andRespond(withServerError());
+
+        assertThrows(RestClientException.class, () -> sink.send(List.of(outboxEvent())));
+    }
+
+    private static OutboxEvent outboxEvent() {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setId(11L);
+        outboxEvent.setAggregateType(OutboxWriter.INTEREST_RATE);
+        outboxEvent.setAggregateId("3");
+        outboxEvent.setEventType("CREATED");
+        outboxEvent.setPayload("{\"id\":3}");
+        outboxEvent.setCreatedAt(new Date(1000));
+        return outboxEvent;
+    }
+}
@@ -0,0 +1,80 @@
+package com.banquito.core.productsaccounts.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.banquito.core.productsaccounts.model.OutboxEvent;
+import com.banquito.core.productsaccounts.repository.OutboxEventRepository;
+
+public class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository repository;
+
+    @Mock
+    private OutboxSink sink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        outboxRelay = new OutboxRelay(repository, sink, transactionManager, 2, 60000);
+    }
+
+    @Test
+    void testEmptyOutboxPublishesNothing() {
+        when(repository.lockUnpublished(2)).thenReturn(List.of());
+
+        assertEquals(0, outboxRelay.relayBatch());
+
+        verify(sink, never()).send(any());
+        verify(repository, never()).markPublished(any(), any());
+    }
+
+    @Test
+    void testBatchIsSentThenMarked() {
+        List<OutboxEvent> events = Arrays.asList(outboxEvent(11L), outboxEvent(12L));
+        when(repository.lockUnpublished(2)).thenReturn(events);
+
+        assertEquals(2, outboxRelay.relayBatch());
+
+        verify(sink).send(events);
+        verify(repository).markPublished(eq(Arrays.asList(11L, 12L)), any());
+    }
+
+    @Test
+    void testUnacknowledgedBatchIsNotMarked() {
+        List<OutboxEvent> events = Arrays.asList(outboxEvent(11L), outboxEvent(12L));
+        when(repository.lockUnpublished(2)).thenReturn(events);
+        doThrow(new IllegalStateException("sink down")).when(sink).send(events);
+
+        assertThrows(IllegalStateException.class, () -> outboxRelay.relayBatch());
+
+        verify(repository, never()).markPublished(any(), any());
+    }
+
+    private static OutboxEvent outboxEvent(Long id) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setId(id);
+        return outboxEvent;
+    }
+}
@@ -0,0 +1,94 @@
+package com.banquito.core.productsaccounts.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.banquito.core.productsaccounts.event.InterestRateChangedEvent;
+import com.banquito.core.productsaccounts.event.InterestRatesInactivatedEvent;
+import com.banquito.core.productsaccounts.event.ProductAccountChangedEvent;
+import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.model.OutboxEvent;
+import com.banquito.core.productsaccounts.model.ProductAccount;
+import com.banquito.core.productsaccounts.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class OutboxWriterTest {
+
+    @Mock
+    private OutboxEventRepository repository;
+
+    @Captor
+    private ArgumentCaptor<OutboxEvent> eventCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<OutboxEvent>> eventsCaptor;
+
+    private OutboxWriter outboxWriter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        outboxWriter = new OutboxWriter(repository, new ObjectMapper());
+    }
+
+    @Test
+    void testInterestRateChangeIsWritten() {
+        InterestRate interestRate = new InterestRate();
+        interestRate.setId(7);
+        interestRate.setName("PASIVA");
+        interestRate.setInterestRate(new BigDecimal("0.05"));
+        interestRate.setState("ACT");
+
+        outboxWriter.onInterestRateChanged(
+                new InterestRateChangedEvent(InterestRateChangedEvent.Type.UPDATED, interestRate));
+
+        verify(repository).save(eventCaptor.capture());
+        OutboxEvent event = eventCaptor.getValue();
+        assertEquals(OutboxWriter.INTEREST_RATE, event.getAggregateType());
+        assertEquals("7", event.getAggregateId());
+        assertEquals("UPDATED", event.getEventType());
+        assertTrue(event.getPayload().contains("\"name\":\"PASIVA\""));
+        assertNotNull(event.getCreatedAt());
+        assertNull(event.getPublishedAt());
+    }
+
+    @Test
+    void testBulkInactivationWritesOneEventPerRate() {
+        outboxWriter.onInterestRatesInactivated(new InterestRatesInactivatedEvent(Arrays.asList(8, 9)));
+
+        verify(repository).saveAll(eventsCaptor.capture());
+        List<OutboxEvent> events = eventsCaptor.getValue();
+        assertEquals(2, events.size());
+        assertEquals("9", events.get(1).getAggregateId());
+        assertEquals("INACTIVATED", events.get(1).getEventType());
+    }
+
+    @Test
+    void testProductAccountCreationIsWritten() {
+        ProductAccount productAccount = new ProductAccount();
+        productAccount.setId("CORR2023");
+        productAccount.setName("Cuenta Corriente");
+
+        outboxWriter.onProductAccountChanged(
+                new ProductAccountChangedEvent(ProductAccountChangedEvent.Type.CREATED, productAccount));
+
+        verify(repository).save(eventCaptor.capture());
+        assertEquals(OutboxWriter.PRODUCT_ACCOUNT, eventCaptor.getValue().getAggregateType());
+        assertEquals("CORR2023", eventCaptor.getValue().getAggregateId());
+        assertEquals("CREATED", eventCaptor.getValue().getEventType());
+    }
+}
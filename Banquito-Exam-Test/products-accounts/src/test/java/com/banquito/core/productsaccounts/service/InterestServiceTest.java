@@ -1,9 +1,12 @@
 package com.banquito.core.productsaccounts.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
@@ -13,6 +16,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
@@ -27,7 +31,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 
+import com.banquito.core.productsaccounts.cache.InterestRateTimeline;
+import com.banquito.core.productsaccounts.event.InterestRateChangedEvent;
+import com.banquito.core.productsaccounts.event.InterestRatesImportedEvent;
+import com.banquito.core.productsaccounts.event.InterestRatesInactivatedEvent;
 import com.banquito.core.productsaccounts.exception.CRUDException;
 import com.banquito.core.productsaccounts.model.InterestRate;
 import com.banquito.core.productsaccounts.repository.InterestRateRepository;
@@ -39,6 +49,12 @@ public class InterestServiceTest {
     @Mock
     private InterestRateRepository interestRateRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private InterestRateTimeline timeline;
+
     @InjectMocks
     private InterestRateService interestRateService;
 
@@ -75,6 +91,87 @@ public class InterestServiceTest {
         assertEquals(expectedRates, actualRates);
     }
 
+    @Test
+    void testListActivesPage() {
+        // Given
+        List<InterestRate> rates = new ArrayList<>();
+        for (int id = 1; id <= 3; id++) {
+            InterestRate rate = new InterestRate();
+            rate.setId(id);
+            rate.setName("rate" + id);
+            rates.add(rate);
+        }
+        when(interestRateRepository.findByStateOrderByIdAsc("ACT", PageRequest.of(0, 3))).thenReturn(rates);
+        when(interestRateRepository.findByStateAndIdGreaterThanOrderByIdAsc("ACT", 2, PageRequest.of(0, 3)))
+                .thenReturn(rates.subList(2, 3));
+
+        // When
+        InterestRatePage first = interestRateService.listActivesPage(null, 2, InterestRateService.SORT_BY_ID);
+        InterestRatePage second = interestRateService.listActivesPage(first.getNext(), 2,
+                InterestRateService.SORT_BY_ID);
+
+        // Then
+        assertEquals(2, first.getInterestRates().size());
+        assertNotNull(first.getNext());
+        assertEquals(1, second.getInterestRates().size());
+        assertNull(second.getNext());
+    }
+
+    @Test
+    void testListChanges() {
+        // Given
+        List<InterestRate> rates = new ArrayList<>();
+        for (int id = 1; id <= 3; id++) {
+            InterestRate rate = new InterestRate();
+            rate.setId(id);
+            rate.setChangeSeq(10L + id);
+            rates.add(rate);
+        }
+        when(interestRateRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(0L, PageRequest.of(0, 3)))
+                .thenReturn(rates);
+        when(interestRateRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(12L, PageRequest.of(0, 3)))
+                .thenReturn(rates.subList(2, 3));
+        when(interestRateRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(13L, PageRequest.of(0, 3)))
+                .thenReturn(List.of());
+
+        // When
+        InterestRateChanges first = interestRateService.listChanges(null, 2);
+        InterestRateChanges second = interestRateService.listChanges(first.getNext(), 2);
+        InterestRateChanges third = interestRateService.listChanges(second.getNext(), 2);
+
+        // Then
+        assertEquals(2, first.getInterestRates().size());
+        assertTrue(first.isMore());
+        assertEquals(1, second.getInterestRates().size());
+        assertFalse(second.isMore());
+        assertEquals(0, third.getInterestRates().size());
+        assertEquals(second.getNext(), third.getNext());
+    }
+
+    @Test
+    void testListChangesWithInvalidToken() {
+        CRUDException exception = assertThrows(CRUDException.class,
+                () -> interestRateService.listChanges("not a token", 2));
+
+        assertEquals(400, exception.getErrorCode());
+    }
+
+    @Test
+    void testListActivesPageWithInvalidToken() {
+        CRUDException exception = assertThrows(CRUDException.class,
+                () -> interestRateService.listActivesPage("not a token", 2, InterestRateService.SORT_BY_ID));
+
+        assertEquals(400, exception.getErrorCode());
+    }
+
+    @Test
+    void testListActivesPageWithUnknownSort() {
+        CRUDException exception = assertThrows(CRUDException.class,
+                () -> interestRateService.listActivesPage(null, 2, "rate"));
+
+        assertEquals(400, exception.getErrorCode());
+    }
+
     @Test
     void testObtainById() {
         // Given
@@ -111,6 +208,31 @@ public class InterestServiceTest {
         assertEquals("Interest Rate with id: {1} does not exist", exception.getMessage());
     }
 
+    @Test
+    void testObtainEffective() {
+        LocalDate date = LocalDate.parse("2023-01-15");
+        InterestRate expectedRate = new InterestRate();
+        expectedRate.setId(1);
+        expectedRate.setName("rate1");
+        when(timeline.findEffective("rate1", date)).thenReturn(expectedRate);
+
+        InterestRate actualRate = interestRateService.obtainEffective("rate1", date);
+
+        assertEquals(expectedRate, actualRate);
+        verify(interestRateRepository, times(0)).findAll();
+    }
+
+    @Test
+    void testObtainEffectiveNotFound() {
+        LocalDate date = LocalDate.parse("2023-01-15");
+        when(timeline.findEffective("rate1", date)).thenReturn(null);
+
+        CRUDException exception = assertThrows(CRUDException.class,
+                () -> interestRateService.obtainEffective("rate1", date));
+
+        assertEquals(404, exception.getErrorCode());
+    }
+
     @Test
     void testCreate() {
         // Given
@@ -126,6 +248,7 @@ public class InterestServiceTest {
     
         // Then
         verify(interestRateRepository, times(1)).save(interestRate);
+        verify(eventPublisher, times(1)).publishEvent(any(InterestRateChangedEvent.class));
     }
     
     @Test
@@ -149,6 +272,48 @@ void testCreateException() {
 
 
 
+    @Test
+    void testCreateAll() {
+        // Given
+        InterestRate rate1 = new InterestRate();
+        rate1.setId(7);
+        rate1.setName("rate1");
+        rate1.setInterestRate(new BigDecimal("0.01"));
+        rate1.setState("ACT");
+        rate1.setStart(new Date());
+        InterestRate rate2 = new InterestRate();
+        rate2.setName("rate2");
+        rate2.setInterestRate(new BigDecimal("0.02"));
+        rate2.setState("ACT");
+        rate2.setStart(new Date());
+        List<InterestRate> rates = Arrays.asList(rate1, rate2);
+        when(interestRateRepository.saveAllAndFlush(rates)).thenReturn(rates);
+
+        // When
+        List<InterestRate> created = interestRateService.createAll(rates);
+
+        // Then
+        assertEquals(rates, created);
+        assertEquals(null, rate1.getId());
+        verify(interestRateRepository, times(1)).saveAllAndFlush(rates);
+        verify(interestRateRepository, times(0)).save(any(InterestRate.class));
+        verify(eventPublisher, times(1)).publishEvent(any(InterestRatesImportedEvent.class));
+    }
+
+    @Test
+    void testCreateAllException() {
+        // Given
+        List<InterestRate> rates = Arrays.asList(new InterestRate());
+        doThrow(new RuntimeException("Failed to save")).when(interestRateRepository).saveAllAndFlush(rates);
+
+        // When and Then
+        CRUDException exception = assertThrows(CRUDException.class, () -> interestRateService.createAll(rates));
+
+        assertEquals(510, exception.getErrorCode());
+        assertEquals("Interest Rates cannot be created, error:Failed to save", exception.getMessage());
+        verify(eventPublisher, times(0)).publishEvent(any(InterestRatesImportedEvent.class));
+    }
+
     @Test
     void testUpdate() throws CRUDException {
         // Given
@@ -160,23 +325,26 @@ void testCreateException() {
         interestRate.setStart(new Date());
         InterestRate expectedRate = new InterestRate();
         expectedRate.setId(id);
-        expectedRate.setName("rate1");
-        expectedRate.setInterestRate(new BigDecimal("0.01"));
+        expectedRate.setName("test");
+        expectedRate.setInterestRate(new BigDecimal("0.02"));
         expectedRate.setState("ACT");
-        expectedRate.setStart(new Date());
-        when(interestRateRepository.findById(id)).thenReturn(Optional.of(expectedRate));
-        when(interestRateRepository.save(any(InterestRate.class))).thenReturn(interestRate);
+        expectedRate.setStart(interestRate.getStart());
+        when(interestRateRepository.updateNameAndRate(id, "test", new BigDecimal("0.02")))
+                .thenReturn(Optional.of(expectedRate));
 
         // When
-        interestRateService.update(id, interestRate);
+        InterestRate updated = interestRateService.update(id, interestRate);
 
         // Then
-        verify(interestRateRepository, times(1)).findById(id);
-        verify(interestRateRepository, times(1)).save(any(InterestRate.class));
-        assertEquals(interestRate.getName(), expectedRate.getName());
-        assertEquals(interestRate.getInterestRate(), expectedRate.getInterestRate());
-        assertEquals(interestRate.getState(), expectedRate.getState());
-        assertEquals(interestRate.getStart(), expectedRate.getStart());
+        verify(interestRateRepository, times(1)).updateNameAndRate(id, "test", new BigDecimal("0.02"));
+        verify(interestRateRepository, times(0)).findById(id);
+        verify(interestRateRepository, times(0)).save(any(InterestRate.class));
+        verify(eventPublisher, times(1)).publishEvent(any(InterestRateChangedEvent.class));
+        assertEquals(expectedRate, updated);
+        assertEquals(interestRate.getName(), updated.getName());
+        assertEquals(interestRate.getInterestRate(), updated.getInterestRate());
+        assertEquals(interestRate.getState(), updated.getState());
+        assertEquals(interestRate.getStart(), updated.getStart());
     }
 
 
@@ -188,18 +356,81 @@ void testCreateException() {
         expectedRate.setId(id);
         expectedRate.setName("rate1");
         expectedRate.setInterestRate(new BigDecimal("0.01"));
-        expectedRate.setState("ACT");
+        expectedRate.setState("INA");
         expectedRate.setStart(new Date());
-        when(interestRateRepository.findById(id)).thenReturn(Optional.of(expectedRate));
+        expectedRate.setEnd(new Date());
+        when(interestRateRepository.inactivateById(id)).thenReturn(Optional.of(expectedRate));
 
         // When
         interestRateService.inactivate(id);
 
         // Then
-        verify(interestRateRepository, times(1)).findById(id);
-        verify(interestRateRepository, times(1)).save(expectedRate);
-        assertEquals("INA", expectedRate.getState());
-        assertNotNull(expectedRate.getEnd());
+        verify(interestRateRepository, times(1)).inactivateById(id);
+        verify(interestRateRepository, times(0)).save(any(InterestRate.class));
+        verify(eventPublisher, times(1)).publishEvent(any(InterestRateChangedEvent.class));
+    }
+
+    @Test
+    void testInactivateNotFound() {
+        // Given
+        Integer id = 1;
+        when(interestRateRepository.inactivateById(id)).thenReturn(Optional.empty());
+
+        // When
+        CRUDException exception = assertThrows(CRUDException.class, () -> interestRateService.inactivate(id));
+
+        // Then
+        assertEquals(404, exception.getErrorCode());
+        verify(eventPublisher, times(0)).publishEvent(any(InterestRateChangedEvent.class));
+    }
+
+    @Test
+    void testInactivateAll() {
+        // Given
+        List<Integer> ids = Arrays.asList(1, 2, 3);
+        when(interestRateRepository.inactivateAllById(ids)).thenReturn(Arrays.asList(1, 3));
+
+        // When
+        List<Integer> inactivated = interestRateService.inactivateAll(ids);
+
+        // Then
+        assertEquals(Arrays.asList(1, 3), inactivated);
+        verify(eventPublisher, times(1)).publishEvent(any(InterestRatesInactivatedEvent.class));
+    }
+
+    @Test
+    void testInactivateAllWithoutIds() {
+        // When
+        List<Integer> inactivated = interestRateService.inactivateAll(new ArrayList<>());
+
+        // Then
+        assertEquals(0, inactivated.size());
+        verify(interestRateRepository, times(0)).inactivateAllById(any());
+        verify(eventPublisher, times(0)).publishEvent(any(InterestRatesInactivatedEvent.class));
+    }
+
+    @Test
+    void testInactivateAllByNamePrefix() {
+        // Given
+        when(interestRateRepository.inactivateAllByNamePrefix("PASIVA\\_")).thenReturn(Arrays.asList(4));
+
+        // When
+        List<Integer> inactivated = interestRateService.inactivateAllByNamePrefix("PASIVA_");
+
+        // Then
+        assertEquals(Arrays.asList(4), inactivated);
+        verify(eventPublisher, times(1)).publishEvent(any(InterestRatesInactivatedEvent.class));
+    }
+
+    @Test
+    void testInactivateAllByEmptyNamePrefix() {
+        // When
+        CRUDException exception = assertThrows(CRUDException.class,
+                () -> interestRateService.inactivateAllByNamePrefix(""));
+
+        // Then
+        assertEquals(400, exception.getErrorCode());
+        verify(interestRateRepository, times(0)).inactivateAllByNamePrefix(any());
     }
 
 
@@ -221,11 +452,13 @@ void testUpdateNotFound() {
     updatedInterestRate.setStart(new Date());
 
     // When
-    when(interestRateRepository.findById(id)).thenReturn(Optional.empty());
+    when(interestRateRepository.updateNameAndRate(id, "updated", new BigDecimal("0.02"))).thenReturn(Optional.empty());
 
     // Then
-    assertThrows(CRUDException.class, () -> interestRateService.update(id, updatedInterestRate));
-    verify(interestRateRepository, times(1)).findById(id);
+    CRUDException exception = assertThrows(CRUDException.class,
+            () -> interestRateService.update(id, updatedInterestRate));
+    assertEquals(404, exception.getErrorCode());
+    verify(interestRateRepository, times(1)).updateNameAndRate(id, "updated", new BigDecimal("0.02"));
 
 }
 
@@ -246,13 +479,14 @@ void testUpdateError() {
     updatedInterestRate.setStart(new Date());
 
     // When
-    when(interestRateRepository.findById(id)).thenReturn(Optional.of(interestRate));
-    doThrow(new RuntimeException("Something went wrong")).when(interestRateRepository).save(any(InterestRate.class));
+    doThrow(new RuntimeException("Something went wrong")).when(interestRateRepository)
+            .updateNameAndRate(id, "updated", new BigDecimal("0.02"));
 
     // Then
-    assertThrows(CRUDException.class, () -> interestRateService.update(id, updatedInterestRate));
-    verify(interestRateRepository, times(1)).findById(id);
-    verify(interestRateRepository, times(1)).save(updatedInterestRate);
+    CRUDException exception = assertThrows(CRUDException.class,
+            () -> interestRateService.update(id, updatedInterestRate));
+    assertEquals(520, exception.getErrorCode());
+    verify(interestRateRepository, times(1)).updateNameAndRate(id, "updated", new BigDecimal("0.02"));
 }
 
 
@@ -3,6 +3,7 @@ package com.banquito.core.productsaccounts.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
@@ -17,6 +18,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.logging.Logger;
 
@@ -27,7 +29,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 
+import com.banquito.core.productsaccounts.config.ReplicaRoutingContext;
+import com.banquito.core.productsaccounts.controller.dto.ProductAccountRQRS;
+import com.banquito.core.productsaccounts.event.ProductAccountChangedEvent;
+import com.banquito.core.productsaccounts.event.ProductAccountsImportedEvent;
 import com.banquito.core.productsaccounts.exception.CRUDException;
 import com.banquito.core.productsaccounts.model.ProductAccount;
 import com.banquito.core.productsaccounts.repository.ProductAccountRepository;
@@ -36,6 +44,9 @@ public class ProductAccountTest {
     @Mock
     private ProductAccountRepository productAccountRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProductAccountService productAccountService;
 
@@ -78,7 +89,22 @@ public class ProductAccountTest {
         assertEquals(expectedAccounts, actualAccounts);
     }
 
-  
+    @Test
+    void testListAllActivesRQRS() {
+        // Given
+        List<ProductAccountRQRS> expectedAccounts = Arrays.asList(
+                new ProductAccountRQRS("1", "account1", "description1", new BigDecimal("100.00"), "Y", "Y", "ACT"));
+        when(productAccountRepository.findRQRSByState("ACT")).thenReturn(expectedAccounts);
+
+        // When
+        List<ProductAccountRQRS> actualAccounts = productAccountService.listAllActivesRQRS();
+
+        // Then
+        verify(productAccountRepository, times(1)).findRQRSByState("ACT");
+        verify(productAccountRepository, times(0)).findByState("ACT");
+        assertEquals(expectedAccounts, actualAccounts);
+    }
+
     @Test
 void testObtainById_existingProductAccount() {
     // Given
@@ -118,6 +144,29 @@ void testObtainById_nonExistingProductAccount() {
     assertEquals(404, exception.getErrorCode());
 }
 
+@Test
+void testObtainById_coalescedUnlessPinnedToPrimary() {
+    // Given
+    String id = "1";
+    ProductAccount expectedAccount = new ProductAccount();
+    expectedAccount.setId(id);
+    when(productAccountRepository.findById(id)).thenReturn(Optional.of(expectedAccount));
+
+    // When
+    productAccountService.obtainById(id);
+    ReplicaRoutingContext.begin();
+    try {
+        ReplicaRoutingContext.pinToPrimary();
+        productAccountService.obtainById(id);
+    } finally {
+        ReplicaRoutingContext.end();
+    }
+
+    // Then
+    verify(productAccountRepository, times(2)).findById(id);
+    assertEquals(1, productAccountService.getIdLookups().getLeaders());
+}
+
 
 @Test
 void testCreate_productAccountCreated() {
@@ -136,6 +185,8 @@ void testCreate_productAccountCreated() {
 
     // Then
     verify(productAccountRepository, times(1)).save(productAccount);
+    verify(productAccountRepository, times(1)).flush();
+    verify(eventPublisher, times(1)).publishEvent(any(ProductAccountChangedEvent.class));
     assertNotNull(productAccount.getCreationDate());
 }
 
@@ -160,6 +211,118 @@ void testCreate_productAccountCreationError() {
     verify(productAccountRepository, times(1)).save(productAccount);
     assertEquals("Product Account cannot be created, error:Database connection error", exception.getMessage());
     assertEquals(510, exception.getErrorCode());
+    verify(eventPublisher, times(0)).publishEvent(any());
+}
+
+@Test
+void testCreateAll_productAccountsCreated() {
+    // Given
+    ProductAccount productAccount = new ProductAccount();
+    productAccount.setId("1");
+    productAccount.setName("account1");
+    productAccount.setDescription("description1");
+    productAccount.setMinimunBalance(new BigDecimal("100.00"));
+    productAccount.setPayInterest("Y");
+    productAccount.setAcceptsChecks("Y");
+    productAccount.setState("ACT");
+    List<ProductAccount> productAccounts = Arrays.asList(productAccount);
+    when(productAccountRepository.saveAllAndFlush(productAccounts)).thenReturn(productAccounts);
+
+    // When
+    List<ProductAccount> created = productAccountService.createAll(productAccounts);
+
+    // Then
+    verify(productAccountRepository, times(1)).saveAllAndFlush(productAccounts);
+    verify(eventPublisher, times(1)).publishEvent(any(ProductAccountsImportedEvent.class));
+    assertEquals(productAccounts, created);
+    assertNotNull(productAccount.getCreationDate());
+}
+
+@Test
+void testCreateAll_productAccountsCreationError() {
+    // Given
+    List<ProductAccount> productAccounts = Arrays.asList(new ProductAccount());
+    doThrow(new RuntimeException("Duplicate key")).when(productAccountRepository).saveAllAndFlush(productAccounts);
+
+    // When
+    CRUDException exception = assertThrows(CRUDException.class,
+            () -> productAccountService.createAll(productAccounts));
+
+    // Then
+    assertEquals("Product Accounts cannot be created, error:Duplicate key", exception.getMessage());
+    assertEquals(510, exception.getErrorCode());
+}
+
+@Test
+void testProductAccountWithAssignedIdIsNew() {
+    ProductAccount productAccount = new ProductAccount();
+    productAccount.setId("1");
+    assertEquals(true, productAccount.isNew());
+}
+@Test
+void testListActivesPage_byName() {
+    // Given
+    List<ProductAccount> accounts = new ArrayList<>();
+    for (String id : new String[] {"C", "A", "B"}) {
+        ProductAccount account = new ProductAccount();
+        account.setId(id);
+        account.setName("Cuenta " + id);
+        accounts.add(account);
+    }
+    when(productAccountRepository.findByStateOrderByNameAscIdAsc("ACT", PageRequest.of(0, 3))).thenReturn(accounts);
+    when(productAccountRepository.findByStateAfterNameAndId("ACT", "Cuenta A", "A", 3))
+            .thenReturn(accounts.subList(2, 3));
+
+    // When
+    ProductAccountPage first = productAccountService.listActivesPage(null, 2, ProductAccountService.SORT_BY_NAME);
+    ProductAccountPage second = productAccountService.listActivesPage(first.getNext(), 2,
+            ProductAccountService.SORT_BY_NAME);
+
+    // Then
+    assertEquals(2, first.getProductAccounts().size());
+    assertNotNull(first.getNext());
+    assertEquals(1, second.getProductAccounts().size());
+    assertNull(second.getNext());
+}
+
+@Test
+void testListActivesPage_tokenOfAnotherSort() {
+    // Given
+    ProductAccount account = new ProductAccount();
+    account.setId("A");
+    account.setName("Cuenta A");
+    when(productAccountRepository.findByStateOrderByIdAsc("ACT", PageRequest.of(0, 2)))
+            .thenReturn(Arrays.asList(account, account));
+    String next = productAccountService.listActivesPage(null, 1, ProductAccountService.SORT_BY_ID).getNext();
+
+    // When
+    CRUDException exception = assertThrows(CRUDException.class,
+            () -> productAccountService.listActivesPage(next, 1, ProductAccountService.SORT_BY_NAME));
+
+    // Then
+    assertEquals(400, exception.getErrorCode());
+}
+
+@Test
+void testListActivesPage_invalidLimit() {
+    CRUDException exception = assertThrows(CRUDException.class,
+            () -> productAccountService.listActivesPage(null, ProductAccountService.MAX_PAGE_SIZE + 1,
+                    ProductAccountService.SORT_BY_ID));
+
+    assertEquals(400, exception.getErrorCode());
+}
+@Test
+void testListAllActivesFields() {
+    // Given
+    List<Map<String, Object>> expected = List.of(Map.of("id", "1"));
+    when(productAccountRepository.findFieldsByState("ACT", List.of("id"))).thenReturn(expected);
+
+    // When
+    List<Map<String, Object>> actual = productAccountService.listAllActivesFields(List.of("id"));
+
+    // Then
+    assertEquals(expected, actual);
+    verify(productAccountRepository, times(0)).findByState("ACT");
 }
 
 }
@@ -0,0 +1,159 @@
+package com.banquito.core.productsaccounts.stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.banquito.core.common.stream.SseEventHub;
+import com.banquito.core.productsaccounts.event.InterestRateChangedEvent;
+import com.banquito.core.productsaccounts.event.InterestRatesInactivatedEvent;
+import com.banquito.core.productsaccounts.model.InterestRate;
+import com.banquito.core.productsaccounts.repository.InterestRateRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class InterestRateEventStreamTest {
+
+    @Mock
+    private InterestRateRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InterestRateEventStream eventStream;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        eventStream = new InterestRateEventStream(repository, new ObjectMapper(), transactionManager, 2, 60000);
+        mockMvc = MockMvcBuilders.standaloneSetup(new StreamController(eventStream)).build();
+    }
+
+    @Test
+    void testCommittedUpdateIsPushedWithoutQuery() throws Exception {
+        MockHttpServletResponse response = subscribe(null);
+
+        eventStream.onInterestRateChanged(
+                new InterestRateChangedEvent(InterestRateChangedEvent.Type.UPDATED, rate(1, 7L)));
+
+        assertTrue(response.getContentAsString().contains("id:7\nevent:" + InterestRateEventStream.EVENT_NAME));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testCreatedRateIsReadBackForItsChangeSeq() throws Exception {
+        MockHttpServletResponse response = subscribe(null);
+        when(repository.findAllById(List.of(1))).thenReturn(List.of(rate(1, 8L)));
+
+        eventStream.onInterestRateChanged(
+                new InterestRateChangedEvent(InterestRateChangedEvent.Type.CREATED, rate(1, null)));
+
+        assertTrue(response.getContentAsString().contains("id:8\n"));
+    }
+
+    @Test
+    void testInactivatedRatesArePushedInChangeOrder() throws Exception {
+        MockHttpServletResponse response = subscribe(null);
+        when(repository.findAllById(Arrays.asList(2, 1))).thenReturn(Arrays.asList(rate(1, 10L), rate(2, 9L)));
+
+        eventStream.onInterestRatesInactivated(new InterestRatesInactivatedEvent(Arrays.asList(2, 1)));
+
+        String content = response.getContentAsString();
+        assertTrue(content.indexOf("id:9\n") < content.indexOf("id:10\n"));
+    }
+
+    @Test
+    void testNothingIsReadWithoutSubscribers() {
+        eventStream.onInterestRatesInactivated(new InterestRatesInactivatedEvent(Arrays.asList(1, 2)));
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testResumeReadsChangesAfterLastEventId() throws Exception {
+        when(repository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(eq(5L), any()))
+                .thenReturn(Arrays.asList(rate(1, 6L), rate(2, 7L)));
+
+        String content = subscribe(5L).getContentAsString();
+
+        assertTrue(content.contains("id:6\n"));
+        assertTrue(content.contains("id:7\n"));
+        assertFalse(content.contains("event:" + SseEventHub.RESET));
+        verify(repository).findByChangeSeqGreaterThanOrderByChangeSeqAsc(5L, PageRequest.of(0, 3));
+    }
+
+    @Test
+    void testResumeBeyondBufferSizeSendsReset() throws Exception {
+        when(repository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(eq(5L), any()))
+                .thenReturn(Arrays.asList(rate(1, 6L), rate(2, 7L), rate(3, 8L)));
+
+        String content = subscribe(5L).getContentAsString();
+
+        assertTrue(content.contains("event:" + SseEventHub.RESET));
+        assertFalse(content.contains("id:6\n"));
+    }
+
+    @Test
+    void testNewSubscriberIsNotResumed() throws Exception {
+        subscribe(null);
+
+        verify(repository, never()).findByChangeSeqGreaterThanOrderByChangeSeqAsc(any(), any());
+    }
+
+    private MockHttpServletResponse subscribe(Long lastEventId) throws Exception {
+        return mockMvc.perform(lastEventId == null ? get("/stream")
+                : get("/stream").header("Last-Event-ID", lastEventId))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+    }
+
+    private static InterestRate rate(Integer id, Long changeSeq) {
+        InterestRate interestRate = new InterestRate();
+        interestRate.setId(id);
+        interestRate.setName("rate" + id);
+        interestRate.setInterestRate(new BigDecimal("0.05"));
+        interestRate.setState("ACT");
+        interestRate.setChangeSeq(changeSeq);
+        return interestRate;
+    }
+
+    @RestController
+    static class StreamController {
+
+        private final InterestRateEventStream eventStream;
+
+        StreamController(InterestRateEventStream eventStream) {
+            this.eventStream = eventStream;
+        }
+
+        @GetMapping("/stream")
+        public SseEmitter stream(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+            return eventStream.subscribe(lastEventId);
+        }
+    }
+}
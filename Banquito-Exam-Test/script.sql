@@ -1,16 +1,36 @@
 create database products;
 
+create sequence INTEREST_RATE_SEQ start with 1 increment by 50;
+
+create sequence INTEREST_RATE_CHANGE_SEQ start with 1 increment by 1;
+
 create table
     INTEREST_RATE (
-        ID_INTEREST_RATE SERIAL not null,
+        ID_INTEREST_RATE INTEGER not null default nextval('INTEREST_RATE_SEQ'),
         NAME VARCHAR(50) not null,
         INTEREST_RATE NUMERIC(2, 2) not null,
         STATE VARCHAR(3) not null constraint CKC_STATE_INTEREST check (STATE in ('ACT', 'INA')),
         START_DATE DATE not null,
         END_DATE DATE null,
+        CHANGE_SEQ BIGINT not null,
         constraint PK_INTEREST_RATE primary key (ID_INTEREST_RATE)
     );
 
+-- Every insert or update of an interest rate takes the next change number.
+-- The advisory lock is held until commit, so writers take their numbers in
+-- commit order: a client that has synced up to a number can never miss a
+-- lower one committed later.
+create function INTEREST_RATE_NEXT_CHANGE() returns trigger as $$
+begin
+    perform pg_advisory_xact_lock(hashtext('INTEREST_RATE_CHANGE_SEQ'));
+    NEW.CHANGE_SEQ := nextval('INTEREST_RATE_CHANGE_SEQ');
+    return NEW;
+end;
+$$ language plpgsql;
+
+create trigger TRG_INTEREST_RATE_CHANGE before insert or update on INTEREST_RATE
+    for each row execute function INTEREST_RATE_NEXT_CHANGE();
+
 create table
     PRODUCT_ACCOUNT (
         ID_PRODUCT_ACCOUNT VARCHAR(16) not null,
@@ -24,6 +44,34 @@ create table
         constraint PK_PRODUCT_ACCOUNT primary key (ID_PRODUCT_ACCOUNT)
     );
 
+create unique index IDX_INTEREST_RATE_CHANGE_SEQ on INTEREST_RATE (CHANGE_SEQ);
+
+create index IDX_INTEREST_RATE_ACT_ID on INTEREST_RATE (ID_INTEREST_RATE) where STATE = 'ACT';
+
+create index IDX_INTEREST_RATE_ACT_NAME on INTEREST_RATE (NAME, ID_INTEREST_RATE) where STATE = 'ACT';
+
+create index IDX_PRODUCT_ACCOUNT_ACT_ID on PRODUCT_ACCOUNT (ID_PRODUCT_ACCOUNT) where STATE = 'ACT';
+
+create index IDX_PRODUCT_ACCOUNT_ACT_NAME on PRODUCT_ACCOUNT (NAME, ID_PRODUCT_ACCOUNT) where STATE = 'ACT';
+
+create sequence OUTBOX_EVENT_SEQ start with 1 increment by 50;
+
+create table
+    OUTBOX_EVENT (
+        ID_OUTBOX_EVENT BIGINT not null default nextval('OUTBOX_EVENT_SEQ'),
+        AGGREGATE_TYPE VARCHAR(32) not null,
+        AGGREGATE_ID VARCHAR(32) not null,
+        EVENT_TYPE VARCHAR(16) not null,
+        PAYLOAD VARCHAR(2000) not null,
+        CREATED_AT TIMESTAMP not null,
+        PUBLISHED_AT TIMESTAMP null,
+        constraint PK_OUTBOX_EVENT primary key (ID_OUTBOX_EVENT)
+    );
+
+create index IDX_OUTBOX_EVENT_UNPUBLISHED on OUTBOX_EVENT (ID_OUTBOX_EVENT) where PUBLISHED_AT is null;
+
+create index IDX_OUTBOX_EVENT_PUBLISHED_AT on OUTBOX_EVENT (PUBLISHED_AT) where PUBLISHED_AT is not null;
+
 insert into interest_rate
 values (
         default,